@@ -1,5 +1,10 @@
 import java.awt.Graphics;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
 
 /**
  * An Object representing a colony of pigeons, food that the pigeons eat, and the predators that chase the pigeons.
@@ -12,19 +17,27 @@ import java.util.ArrayList;
 public class Colony
 {
     /**
-     * A list of all the pigeons in the colony.
+     * The store that holds all the pigeons in the colony.
      */
-    private ArrayList<Pigeon> pigeons;
+    private PigeonStore pigeons;
     
     /**
-     * The list of all pigeonholes in the world.
+     * The grid of all pigeonholes in the world.
      */
-    private ArrayList<Pigeonhole> holes;
+    private HoleGrid holes;
     
     /**
-     * The list of all foodstuffs in the world.
+     * The store of all foodstuffs in the world, from oldest to newest.
      */
-    private ArrayList<Food> foods;
+    private FoodStore foods;
+    
+    /**
+     * The index of all foodstuffs in the world, used to find food near each pigeon.
+     * It always contains the same food as <code>foods</code>.
+     * 
+     * @see foods
+     */
+    private FoodIndex foodIndex;
     
     /**
      * The list of all predators in the world.
@@ -36,41 +49,211 @@ public class Colony
      */
     private int age;
     
+    /**
+     * The settings that the colony is simulated with.
+     */
+    private SimulationConfig config;
+    
+    /**
+     * The random number stream that decides where food is placed and when it is removed.
+     */
+    private SplittableRandom foodRandom;
+    
+    /**
+     * The Objects that are told whenever the colony finishes simulating a frame.
+     */
+    private ArrayList<FrameListener> listeners;
+    
+    /**
+     * The statistics of the pigeons in the colony, which are recalculated at most once per frame.
+     */
+    private ColonyStats stats;
+    
+    /**
+     * Whether or not the pigeons have changed since the statistics were last calculated.
+     */
+    private boolean statsStale;
+    
+    /**
+     * The grid of homeless pigeons that is used to find pigeons close enough to fight each other.
+     * Pigeons fight when they are less than 5 pixels apart, so each cell is 5 pixels wide.
+     */
+    private SpatialHash fightGrid;
+    
+    /**
+     * The grid of homeless pigeons that is used by predators to find their closest victim and the pigeons they catch,
+     * and by desperate pigeons to find the closest pigeon to eat.
+     * When pigeons are moved one at a time, each pigeon is moved in the grid as soon as it moves.
+     */
+    private SpatialHash preyGrid;
+    
+    /**
+     * Whether or not each pigeon has decided to move during the current frame.
+     */
+    private boolean[] planMoves;
+    
+    /**
+     * The change in x-coordinate that each pigeon has decided on for the current frame.
+     */
+    private double[] planDX;
+    
+    /**
+     * The change in y-coordinate that each pigeon has decided on for the current frame.
+     */
+    private double[] planDY;
+    
+    /**
+     * Whether or not each pigeon has decided to leave its pigeonhole during the current frame.
+     */
+    private boolean[] planExit;
+    
+    /**
+     * The threads that decide how the pigeons move, or <code>null</code> if they haven't been needed yet.
+     */
+    private ForkJoinPool planner;
+    
+    /**
+     * The parents of the baby born in each pigeonhole during the current frame, two entries per pigeonhole,
+     * or <code>null</code> if no baby was born there.
+     * Babies are added after every pigeonhole has been checked, in order of pigeonhole, so the pigeons never change
+     * while the pigeonholes are being checked.
+     */
+    private Pigeon[] births;
+    
+    /**
+     * Whether or not the lists of awake and resting pigeons are out of date.
+     * The lists are only used when moving pigeons on several threads, and are only listed again after pigeons
+     * were added, removed, or started or stopped resting.
+     * When moving pigeons on several threads, resting pigeons never plan a move, so they are only aged,
+     * in one pass after every other pigeon has moved. Nothing that the other pigeons do while moving looks at
+     * a resting pigeon, so this gives the same world as moving them in order.
+     * 
+     * @see PigeonStore.updateResting()
+     */
+    private boolean restListsStale;
+    
+    /**
+     * The indices of the pigeons that are not resting during the current frame, in order.
+     */
+    private int[] awake;
+    
+    /**
+     * The number of pigeons that are not resting during the current frame.
+     */
+    private int awakeCount;
+    
+    /**
+     * The indices of the pigeons that are resting during the current frame, in order.
+     */
+    private int[] dormant;
+    
+    /**
+     * The number of pigeons that are resting during the current frame.
+     */
+    private int dormantCount;
+    
+    /**
+     * Whether or not each pigeon was left for after the tiles were moved, because it could reach too far out of its tile.
+     */
+    private boolean[] planDeferred;
+    
+    /**
+     * How far outside of its tile a pigeon can affect anything during a frame, in pixels.
+     * Pigeons fight pigeons less than 5 pixels away, and eat food up to 10 pixels beside where they land,
+     * so a pigeon that flies at most 10 pixels per frame stays within this distance.
+     */
+    private static final double TILE_HALO = 20;
+    
+    /**
+     * The number of tiles that the world is split into during the current frame.
+     */
+    private int tileCount;
+    
+    /**
+     * The position in <code>tileOrder</code> where each tile's pigeons start, followed by the number of pigeons.
+     */
+    private int[] tileStart;
+    
+    /**
+     * The indices of the pigeons sorted by tile, and in order of index within each tile.
+     */
+    private int[] tileOrder;
+    
+    /**
+     * The tile that each pigeon belongs to during the current frame.
+     */
+    private int[] tileOf;
+    
 
     /**
      * Constructor for objects of class Colony
      */
     public Colony ()
+    {
+        this (new SimulationConfig ());
+    } // Colony() constructor
+    
+    
+    /**
+     * This constructor method creates a new colony that is simulated with given settings.
+     * 
+     * @param config1 The settings that the colony should be simulated with.
+     */
+    public Colony (SimulationConfig config1)
     {
         age = 0; // Initialize age
+        config = config1;
+        listeners = new ArrayList<> ();
         
-        // Initialize list of random pigeons
-        pigeons = new ArrayList<> ();
-        for (int i = 0; i < 449; i++)
-        {
-            pigeons.add (new Pigeon ());
-        }
+        // Split the seed into separate random number streams, so that each part of the world gets the same numbers
+        // no matter what the other parts do
+        SplittableRandom random = new SplittableRandom (config.getSeed ());
+        SplittableRandom pigeonRandom = random.split ();
+        SplittableRandom predatorRandom = random.split ();
+        foodRandom = random.split ();
         
         // Initialize grid of pigeonholes
-        holes = new ArrayList<> ();
-        for (int x = 0; x < 640; x += 40)
+        holes = new HoleGrid (16, 14); // Pigeonholes cover the world down to the food region at y = 560
+        
+        // Initialize store of random pigeons
+        pigeons = new PigeonStore (config.getInitialPigeons (), holes, pigeonRandom, config);
+        for (int i = 0; i < config.getInitialPigeons (); i++)
         {
-            for (int y = 0; y < 560; y += 40)
-            {
-                holes.add (new Pigeonhole (x, y));
-            }
+            pigeons.addRandom ();
         }
         
-        // Initialize list of two predators
+        // Initialize list of predators
         predators = new ArrayList<> ();
-        for (int i = 0; i < 2; i++)
+        for (int i = 0; i < config.getPredators (); i++)
         {
-            predators.add (new Predator ());
+            predators.add (new Predator (predatorRandom.split ())); // Each predator gets its own stream
         }
         
-        // Initialize empty list of foodstuffs
-        foods = new ArrayList<> ();
-    } // Colony() constructor
+        // Initialize empty store of foodstuffs
+        foods = new FoodStore (630); // Food spawns anywhere along the 630 pixel wide food region
+        foodIndex = foods.getIndex ();
+        
+        stats = new ColonyStats ();
+        statsStale = true;
+        
+        fightGrid = new SpatialHash (640, 640, 5); // Pigeons can be anywhere in the 640 by 640 world
+        preyGrid = new SpatialHash (640, 640, 20); // Coarser cells keep the nearest victim search short
+        
+        planMoves = new boolean[0];
+        planDX = new double[0];
+        planDY = new double[0];
+        planExit = new boolean[0];
+        planDeferred = new boolean[0];
+        restListsStale = true;
+        awake = new int[0];
+        dormant = new int[0];
+        births = new Pigeon[2 * holes.size ()];
+        planner = null;
+        tileCount = 0;
+        tileStart = new int[1];
+        tileOrder = new int[0];
+        tileOf = new int[0];
+    } // Colony(SimulationConfig) constructor
     
     
     /**
@@ -85,6 +268,58 @@ public class Colony
     } // getAge() method
     
     
+    /**
+     * This accessor method returns the settings that the colony is simulated with.
+     * 
+     * @return The value of the <code>config</code> field.
+     * @see config
+     */
+    public SimulationConfig getConfig ()
+    {
+        return config;
+    } // getConfig() method
+    
+    
+    /**
+     * This method calculates the average amount of food that is placed in the world during the current frame.
+     * 
+     * @return The average amount of food placed this frame.
+     * @see SimulationConfig.getFoodRate(int)
+     */
+    public double getFoodRate ()
+    {
+        return config.getFoodRate (age);
+    } // getFoodRate() method
+    
+    
+    /**
+     * This method adds an Object that will be told whenever the colony finishes simulating a frame.
+     * 
+     * @param listener The Object to be told.
+     */
+    public void addFrameListener (FrameListener listener)
+    {
+        listeners.add (listener);
+    } // addFrameListener(FrameListener) method
+    
+    
+    /**
+     * This method returns the statistics of the pigeons in the colony, as of the end of the last frame.
+     * The statistics are only calculated when they are needed, in a single pass over the pigeons.
+     * 
+     * @return The statistics of the colony.
+     */
+    public ColonyStats getStats ()
+    {
+        if (statsStale)
+        {
+            stats.refresh (pigeons);
+            statsStale = false;
+        }
+        return stats;
+    } // getStats() method
+    
+    
     /**
      * This method calculates the average base speed of all the pigeons in the colony.
      * 
@@ -94,19 +329,12 @@ public class Colony
      */
     public double getAvgSpeed ()
     {
-        if (pigeons.isEmpty ())
+        ColonyStats stats = getStats ();
+        if (stats.isEmpty ())
         {
             throw new ArithmeticException ("The colony is empty."); // Average is undefined
         }
-        
-        // Loop to determine sum of base speeds
-        double sum = 0;
-        for (int i = 0; i < pigeons.size (); i++)
-        {
-            sum += pigeons.get (i).getBaseSpeed ();
-        }
-        
-        return sum / pigeons.size (); // Average = sum / size
+        return stats.getAvgSpeed ();
     } // getAvgSpeed() method
     
     
@@ -119,19 +347,12 @@ public class Colony
      */
     public double getAvgPower ()
     {
-        if (pigeons.isEmpty ())
+        ColonyStats stats = getStats ();
+        if (stats.isEmpty ())
         {
             throw new ArithmeticException ("The colony is empty."); // Average is undefined
         }
-        
-        // Loop to determine sum of base powers
-        double sum = 0;
-        for (int i = 0; i < pigeons.size (); i++)
-        {
-            sum += pigeons.get (i).getBasePower ();
-        }
-        
-        return sum / pigeons.size (); // Average = sum / size
+        return stats.getAvgPower ();
     } // getAvgPower() method
     
     
@@ -144,19 +365,12 @@ public class Colony
      */
     public double getAvgMaxHP ()
     {
-        if (pigeons.isEmpty ())
+        ColonyStats stats = getStats ();
+        if (stats.isEmpty ())
         {
             throw new ArithmeticException ("The colony is empty."); // Average is undefined
         }
-        
-        // Loop to determine sum of base maximum HP
-        double sum = 0;
-        for (int i = 0; i < pigeons.size (); i++)
-        {
-            sum += pigeons.get (i).getBaseHP ();
-        }
-        
-        return sum / pigeons.size (); // Average = sum / size
+        return stats.getAvgMaxHP ();
     } // getAvgMaxHP() method
     
     
@@ -169,19 +383,12 @@ public class Colony
      */
     public double getAvgMut ()
     {
-        if (pigeons.isEmpty ())
+        ColonyStats stats = getStats ();
+        if (stats.isEmpty ())
         {
             throw new ArithmeticException ("The colony is empty."); // Average is undefined
         }
-        
-        // Loop to determine sum of mutation levels
-        double sum = 0;
-        for (int i = 0; i < pigeons.size (); i++)
-        {
-            sum += pigeons.get (i).getMut ();
-        }
-        
-        return sum / pigeons.size (); // Average = sum / size
+        return stats.getAvgMut ();
     } // getAvgMut() method
     
     
@@ -194,19 +401,12 @@ public class Colony
      */
     public double getAvgFull ()
     {
-        if (pigeons.isEmpty ())
+        ColonyStats stats = getStats ();
+        if (stats.isEmpty ())
         {
             throw new ArithmeticException ("The colony is empty."); // Average is undefined
         }
-        
-        // Loop to determine sum of fullnesses
-        double sum = 0;
-        for (int i = 0; i < pigeons.size (); i++)
-        {
-            sum += pigeons.get (i).getFull ();
-        }
-        
-        return sum / pigeons.size (); // Average = sum / size
+        return stats.getAvgFull ();
     } // getAvgFull() method
     
     
@@ -219,45 +419,31 @@ public class Colony
      */
     public double getDisease ()
     {
-        if (pigeons.isEmpty ())
+        ColonyStats stats = getStats ();
+        if (stats.isEmpty ())
         {
             throw new ArithmeticException ("The colony is empty."); // Percentage is undefined
         }
-        
-        // Loop to count sick pigeons
-        int count = 0;
-        for (int i = 0; i < pigeons.size (); i++)
-        {
-            count += pigeons.get (i).isSick () ? 1 : 0;
-        }
-        
-        return 100.0 * count / pigeons.size (); // Percentage = count / size * 100%
+        return stats.getDisease ();
     } // getDisease() method
     
     
     /**
      * This method calculates the percentage of all pigeons in the colony that are old.
-     * A pigeon is old if and only if it is at least 9000 frames old.
+     * A pigeon is old if and only if it is at least 9000 frames old, unless the colony's settings say otherwise.
      * 
      * @return The percentage of old pigeons in the colony.
-     * @see Pigeon.getAge()
+     * @see Pigeon.isOld()
      * @throw ArithmeticException If the colony is empty.
      */
     public double getOld ()
     {
-        if (pigeons.isEmpty ())
+        ColonyStats stats = getStats ();
+        if (stats.isEmpty ())
         {
             throw new ArithmeticException ("The colony is empty."); // Percentage is undefined
         }
-        
-        // Loop to count sick pigeons
-        int count = 0;
-        for (int i = 0; i < pigeons.size (); i++)
-        {
-            count += (pigeons.get (i).getAge () >= 9000) ? 1 : 0;
-        }
-        
-        return 100.0 * count / pigeons.size (); // Percentage = count / size * 100%
+        return stats.getOld ();
     } // getOld() method
     
     
@@ -274,46 +460,149 @@ public class Colony
     
     /**
      * This method adds another pigeon to the colony.
+     * The pigeon is moved into the colony's store, and the given Pigeon keeps working as a view of it.
+     * 
+     * @param pigeon The pigeon to be added.
      */
     public void add (Pigeon pigeon)
     {
-        pigeons.add (pigeon);
+        pigeons.adopt (pigeon);
+        statsStale = true;
     } // add(Pigeon) method
     
     
     /**
-     * This method displays all the pigeons in the colony using a given Graphics.
+     * This method adds a baby of two breeding pigeons to the colony.
      * 
-     * @param g The Graphics that will draw stuff.
+     * @param p1 The first adult pigeon.
+     * @param p2 The second adult pigeon.
+     * @throw IllegalArgumentException If the two pigeons are unable to breed together.
+     * @see PigeonStore.addBaby(Pigeon,Pigeon)
+     */
+    public void breed (Pigeon p1, Pigeon p2)
+    {
+        pigeons.addBaby (p1, p2);
+    } // breed(Pigeon,Pigeon) method
+    
+    
+    /**
+     * This method records that two pigeons in a pigeonhole have had a baby, which is added to the colony
+     * once every pigeonhole has been checked.
+     * Babies from pigeonholes outside of the colony's grid are added right away.
+     * 
+     * @param hole The pigeonhole that the baby was born in.
+     * @param p1 The first adult pigeon.
+     * @param p2 The second adult pigeon.
+     */
+    void addBirth (Pigeonhole hole, Pigeon p1, Pigeon p2)
+    {
+        int j = hole.getIndex ();
+        if (j < 0 || j >= holes.size () || holes.get (j) != hole)
+        {
+            breed (p1, p2);
+            return;
+        }
+        births[2 * j] = p1; // Each pigeonhole only writes its own entries
+        births[2 * j + 1] = p2;
+    } // addBirth(Pigeonhole,Pigeon,Pigeon) method
+    
+    
+    /**
+     * This method adds every baby that was born during the breeding pass to the colony, in order of pigeonhole.
      */
-    public void display (Graphics g)
+    private void addBirths ()
     {
-        // Loop to display stuff
-        for (int i = 0; i < holes.size (); i++)
+        int count = 0;
+        for (int j = 0; j < births.length; j += 2)
         {
-            holes.get (i).display (g);
+            count += (births[j] != null) ? 1 : 0;
         }
-        for (int i = 0; i < foods.size (); i++)
+        if (count == 0)
         {
-            foods.get (i).display (g);
+            return;
         }
-        for (int i = 0; i < pigeons.size (); i++)
+        
+        pigeons.ensureCapacity (pigeons.size () + count); // Make room for every baby at once
+        for (int j = 0; j < births.length; j += 2)
         {
-            if (pigeons.get (i).isDead ())
+            if (births[j] != null)
             {
-                pigeons.remove (i); // Weed out dead pigeons before attempting to display them
-                i--;
+                breed (births[j], births[j + 1]);
+                births[j] = births[j + 1] = null;
             }
-            else
+        }
+    } // addBirths() method
+    
+    
+    /**
+     * This method displays all the pigeons in the colony using a given Graphics.
+     * 
+     * @param g The Graphics that will draw stuff.
+     * @param mode The stat that the pigeons are shaded by.
+     */
+    public void display (Graphics g, DisplayMode mode)
+    {
+        snapshot (mode).display (g);
+    } // display(Graphics,DisplayMode) method
+    
+    
+    /**
+     * This method copies everything that needs to be drawn in the current frame into a new snapshot.
+     * Pigeons that died during the frame are left out.
+     * Pigeons are only shaded for the given display mode, so modes that are not being shown cost nothing.
+     * 
+     * @param mode The stat that the pigeons should be shaded by.
+     * @return The new snapshot, which does not change when the colony does.
+     */
+    public FrameSnapshot snapshot (DisplayMode mode)
+    {
+        // Loop to copy the living pigeons
+        int n = pigeons.size ();
+        int[] pigeonX = new int[n], pigeonY = new int[n];
+        byte[] gender = new byte[n];
+        DisplayMode shade = mode.isHeatmap () ? DisplayMode.FULLNESS : mode; // Heatmaps need fullness instead of shading
+        byte[] levels = new byte[n];
+        boolean[] sick = mode.isHeatmap () ? new boolean[n] : null;
+        int size = 0;
+        for (int i = 0; i < n; i++)
+        {
+            if (!pigeons.isDead (i))
             {
-                pigeons.get (i).display (g);
+                pigeonX[size] = (int) pigeons.getX (i);
+                pigeonY[size] = (int) pigeons.getY (i);
+                gender[size] = (byte) pigeons.getGender (i);
+                levels[size] = (byte) shade.level (pigeons, i);
+                if (sick != null)
+                {
+                    sick[size] = pigeons.isSick (i);
+                }
+                size++;
+            }
+        }
+        
+        // Loop to copy the food that has not been eaten, from oldest to newest
+        int[] foodX = new int[foods.size ()], foodY = new int[foods.size ()];
+        int m = 0;
+        for (int k = 0; k < foods.span (); k++)
+        {
+            int slot = foods.slotAt (k);
+            if (!foods.isEaten (slot))
+            {
+                foodX[m] = foods.getX (slot);
+                foodY[m] = foods.getY (slot);
+                m++;
             }
         }
+        
+        int[] predatorX = new int[predators.size ()], predatorY = new int[predators.size ()];
         for (int i = 0; i < predators.size (); i++)
         {
-            predators.get (i).display (g);
+            predatorX[i] = (int) predators.get (i).getX ();
+            predatorY[i] = (int) predators.get (i).getY ();
         }
-    } // display(Graphics) method
+        return new FrameSnapshot (age, getFoodRate (), holes, size, pigeonX, pigeonY, gender, mode, levels, sick,
+                                  foodX, foodY, predatorX, predatorY);
+    } // snapshot() method
     
     
     /**
@@ -336,376 +625,197 @@ public class Colony
      */
     public void move ()
     {
-        if (PigeonholeSimulation.DEBUG && age % 30 == 0)
+        if (config.isDebug () && age % 30 == 0)
         {
             System.out.println ("Age: " + age); // Get the colony's age
         }
 
+        // Loop to bucket homeless pigeons, since only they can be hunted or fight
+        preyGrid.clear ();
+        fightGrid.clear ();
+        for (int i = 0; i < pigeons.size (); i++)
+        {
+            if (pigeons.isHomeless (i))
+            {
+                preyGrid.insert (i, pigeons.getX (i), pigeons.getY (i));
+                fightGrid.insert (i, pigeons.getX (i), pigeons.getY (i));
+            }
+        }
+        
         // Loop through predators to move them
         for (int i = 0; i < predators.size (); i++)
         {
             Predator p = predators.get (i);
-            Pigeon closest = null;
-            double minDist = 1e99;
             
-            // Loop to search for closest victim
-            for (int j = 0; j < pigeons.size (); j++)
-            {
-                Pigeon pigeon = pigeons.get (j);
-                
-                double dist = Math.sqrt ((pigeon.getX () - p.getX ()) * (pigeon.getX () - p.getX ())
-                                        + (pigeon.getY () - p.getY ()) * (pigeon.getY () - p.getY ()));
-                                        
-                if (dist < minDist && pigeon.isHomeless ()) // Closest pigeon that is not hiding in a pigeonhole
-                {
-                    // Make sure that the predator can go towards the pigeon
-                    if (pigeon.getX () > 15 && pigeon.getY () > 15 && pigeon.getX () < 620 && pigeon.getY () < 560)
-                    {
-                        closest = pigeon;
-                        minDist = dist;
-                    }
-                }
-            }
-            try
+            // Search for closest victim that the predator can go towards
+            int closest = preyGrid.nearest (p.getX (), p.getY (),
+                                            j -> preyGrid.getX (j) > 15 && preyGrid.getY (j) > 15
+                                                && preyGrid.getX (j) < 620 && preyGrid.getY (j) < 560);
+            if (closest != -1)
             {
                 // Move toward closest pigeon
-                p.move (closest.getX () - p.getX (), closest.getY () - p.getY ());
+                p.move (preyGrid.getX (closest) - p.getX (), preyGrid.getY (closest) - p.getY ());
             }
-            catch (NullPointerException ex) // No pigeon to go to
+            else // No pigeon to go to
             {
-                p.move (Math.random () * 2e99 - 1e99, Math.random () * 2e99 - 1e99); // Random motion while waiting
+                p.wander (); // Random motion while waiting
             }
             
-            // Loop to check for pigeons to eat
-            for (int j = 0; j < pigeons.size (); j++)
+            // Loop through the cells under the predator to check for pigeons to eat
+            for (int gx = preyGrid.cellX (p.getX () - 5); gx <= preyGrid.cellX (p.getX () + 10); gx++)
             {
-                Pigeon pigeon = pigeons.get (j);
-                if (pigeon.isHomeless ()) // Only homeless pigeons are vulnerable
+                for (int gy = preyGrid.cellY (p.getY () - 5); gy <= preyGrid.cellY (p.getY () + 10); gy++)
                 {
-                    if (p.getX () < pigeon.getX () + 5 && p.getX () + 10 > pigeon.getX ()
-                        && p.getY () < pigeon.getY () + 5 && p.getY () + 10 > pigeon.getY ()) // Check boundaries
+                    int j = preyGrid.first (gx, gy);
+                    while (j != -1)
                     {
-                        pigeons.remove (j); // Pigeon is now eaten up
-                        j--;
+                        int next = preyGrid.next (j);
+                        if (p.getX () < pigeons.getX (j) + 5 && p.getX () + 10 > pigeons.getX (j)
+                            && p.getY () < pigeons.getY (j) + 5 && p.getY () + 10 > pigeons.getY (j)) // Check boundaries
+                        {
+                            pigeons.kill (j); // Pigeon is now eaten up
+                            preyGrid.remove (j); // So that other predators stop chasing it
+                        }
+                        j = next;
                     }
                 }
             }
         }
         
-        // Loop through pairs of pigeons to simulate attacks
-        for (int i = 0; i < pigeons.size (); i++)
+        if (config.getThreads () > 0 && (planner == null || planner.getParallelism () != config.getThreads ()))
+        {
+            planner = new ForkJoinPool (config.getThreads ());
+        }
+        boolean tiled = config.getThreads () > 0 && tilesWanted () > 1;
+        
+        // Loop through pairs of nearby pigeons to simulate attacks
+        if (tiled) // Every other tile at once, so that no two tiles fight over the same pigeon
+        {
+            assignTiles ();
+            runTiles (true);
+        }
+        else
         {
-            if (pigeons.get (i).isDesperate ()) // Only desperate pigeons would attack other pigeons
+            for (int i = 0; i < pigeons.size (); i++)
             {
-                for (int j = 0; j < pigeons.size (); j++)
-                {
-                    try {// Check for fighting conditions
-                        if ((!pigeons.get(j).isDesperate() || j > i) // Avoid double-counting attacks
-                                && pigeons.get(i).isHomeless() && pigeons.get(j).isHomeless()
-                                && Math.abs(pigeons.get(i).getX() - pigeons.get(j).getX()) < 5
-                                && Math.abs(pigeons.get(i).getY() - pigeons.get(j).getY()) < 5) {
-                            pigeons.get(i).attack(pigeons.get(j)); // The pigeons attack each other
-                        }
-
-                        // Check for dead pigeons
-                        if (pigeons.get(j).isDead()) {
-                            pigeons.remove(j);
-                            j--;
-                        } else if (pigeons.get(i).isDead()) {
-                            pigeons.remove(i);
-                            i--;
-                            j = pigeons.size(); // Break out of loop
-                        }
-                    }catch(Exception e){
-
-                    }
-                }
+                fight (i);
             }
         }
         
+        // Make room to plan the move of every pigeon
+        if (planMoves.length < pigeons.size ())
+        {
+            int length = Math.max (pigeons.size (), planMoves.length * 2);
+            planMoves = Arrays.copyOf (planMoves, length);
+            planDX = Arrays.copyOf (planDX, length);
+            planDY = Arrays.copyOf (planDY, length);
+            planExit = Arrays.copyOf (planExit, length);
+            planDeferred = Arrays.copyOf (planDeferred, length);
+            awake = Arrays.copyOf (awake, length);
+            dormant = Arrays.copyOf (dormant, length);
+        }
+        
+        // Only the pigeons whose resting conditions changed since the last frame are looked at again
+        restListsStale |= pigeons.updateResting ();
+        
         // Loop to move pigeons
-        for (int i = 0; i < pigeons.size (); i++)
+        if (config.getThreads () == 0) // One at a time, so each pigeon sees the pigeons before it after they moved
         {
-            Pigeon pigeon = pigeons.get (i); // The current pigeon
-            boolean danger = !pigeon.isSafe (predators); // Whether or not the pigeon is in danger from predators
-
-            // Very confusing motion algorithm
-            double dx = 0, dy = 0;
-
-            if (danger) // Stop everything else and fly away from danger
-            {
-                Predator near = null;
-                double minDist = 1e99;
-                
-                // Loop to search for closest predator to fly away from
-                for (int j = 0; j < predators.size (); j++)
-                {
-                    Predator p = predators.get (j);
-                    double dist = Math.sqrt ((pigeon.getX () - p.getX ()) * (pigeon.getX () - p.getX ())
-                                            + (pigeon.getY () - p.getY ()) * (pigeon.getY () - p.getY ()));
-                    
-                    if (dist < minDist)
-                    {
-                        minDist = dist;
-                        near = p;
-                    }
-                }
-                
-                // Try to move away from predator
-                double deltaX = pigeon.getX () - near.getX ();
-                double deltaY = pigeon.getY () - near.getY ();
-                double weight = Math.sqrt (3600 - deltaX * deltaX - deltaY * deltaY); // Scale reaction based on proximity
-                dx = deltaX * weight;
-                dy = deltaY * weight;
-            }
-
-            if (pigeon.getFull () < 0.5 && !pigeon.isBreeding ()) // Pigeon is hungry and is not busy breeding
+            for (int i = 0; i < pigeons.size (); i++)
             {
-                if (pigeon.isSafe (predators, pigeon.getX (), pigeon.getY ()))
+                if (pigeons.isResting (i)) // Later pigeons can look at this one, so it has to age in order
                 {
-                    pigeon.exitHole (); // Should leave hole to search for food and safe to do so
+                    pigeons.checkHealth (i);
                 }
-                else if (pigeon.getFull () < 0.2)
+                else
                 {
-                    pigeon.exitHole (); // Pigeon is just too hungry and will die if it doesn't leave the hole
+                    planMove (i);
+                    commitMove (i);
                 }
-                
-                if (pigeon.isHomeless ()) // Pigeon can move around to look for food
+            }
+        }
+        else // Every pigeon decides where to go at the same time, and then they go there in order
+        {
+            if (restListsStale) // Loop to set aside the pigeons resting in their pigeonholes
+            {
+                awakeCount = dormantCount = 0;
+                for (int i = 0; i < pigeons.size (); i++)
                 {
-                    // Declare variables to search for closest food
-                    double minDist = 1e99;
-                    Food closeFood = null;
-                    double pigeonDist = 1e99;
-                    Pigeon closePigeon = null;
-                    
-                    // Loop to search for nearby food
-                    for (int j = 0; j < foods.size (); j++)
+                    if (pigeons.isResting (i))
                     {
-                        Food food = foods.get (j);
-                        double dist = Math.sqrt ((pigeon.getX () - food.getX ()) * (pigeon.getX () - food.getX ())
-                                                + (pigeon.getY () - food.getY ()) * (pigeon.getY () - food.getY ()));
-                        if (dist < minDist && Pigeon.isSafe (predators, food.getX (), food.getY ())) // Closer food that is safe
-                        {
-                            minDist = dist;
-                            closeFood = food;
-                        }
+                        dormant[dormantCount++] = i;
                     }
-                    
-                    // If desperate, try to eat the nearest pigeon if closer than food
-                    if (pigeon.isDesperate ())
+                    else
                     {
-                        // Loop to determine closest pigeon
-                        for (int j = 0; j < pigeons.size (); j++)
-                        {
-                            if (i != j && pigeons.get (j).isHomeless ()) // Can only target shelterless pigeons
-                            {
-                                Pigeon target = pigeons.get (j);
-                                double dist = Math.sqrt ((pigeon.getX () - target.getX ()) * (pigeon.getX () - target.getX ())
-                                                    + (pigeon.getY () - target.getY ()) * (pigeon.getY () - target.getY ()));
-                                if (dist < pigeonDist && Pigeon.isSafe (predators, target.getX (), target.getY ()))
-                                {
-                                    pigeonDist = dist;
-                                    closePigeon = target;
-                                }
-                            }
-                        }
-                    }
-                    try
-                    {
-                        // Declare variables to help with moving towards food
-                        double mx;
-                        double my;
-                        
-                        // Move toward closest food if closer than closest pigeon
-                        if (minDist <= pigeonDist)
-                        {
-                            mx = closeFood.getX () - pigeon.getX ();
-                            my = closeFood.getY () - pigeon.getY ();
-                        }
-                        else // Move toward closest pigeon if closer than closest food
-                        {
-                            mx = closePigeon.getX () - pigeon.getX ();
-                            my = closePigeon.getY () - pigeon.getY ();
-                            if (!pigeon.isDesperate () && PigeonholeSimulation.DEBUG)
-                            {
-                                System.out.println ("FIGHTING ERROR!");
-                            }
-                        }
-                        
-                        pigeon.move (mx + dx, my + dy); // Adjust motion to go toward food
-                    }
-                    catch (NullPointerException ex) // No food to go to
-                    {
-                        pigeon.move (0, 1e99); // Move down to wait for food
+                        awake[awakeCount++] = i;
                     }
                 }
+                restListsStale = false;
             }
-            else
+            
+            planner.invoke (new PlanTask (0, awakeCount));
+            if (tiled) // In order within each tile, and every other tile at once
             {
-                if (pigeon.isHomeless ()) // Pigeon should search for a pigeonhole
+                runTiles (false);
+                for (int k = 0; k < awakeCount; k++)
                 {
-                    double minDist = 1e99;
-                    Pigeonhole closeHole = null;
-    
-                    double ax = dy, ay = -dx; // The pigeon isn't allowed to travel in a direction contained by these vectors
-                    double bx = -dy, by = dx; // as it would mean the pigeon is moving closer to a predator
-    
-                    // Loop to search for nearby breeding or hiding opportunities
-                    for (int j = 0; j < holes.size (); j++)
+                    if (planDeferred[awake[k]]) // Pigeons that could reach past their tile's halo go last, one at a time
                     {
-                        Pigeonhole hole = holes.get (j);
-                        
-                        // Check for breeding or hiding opportunity
-                        if (hole.canBreed (pigeon.getGender ()) || (danger && !hole.getFilled (pigeon.getGender ())))
-                        {
-                            double cx = hole.getX (pigeon) - pigeon.getX ();
-                            double cy = hole.getY (pigeon) - pigeon.getY ();
-                            
-                            // Check if moving in this direction would make the pigeon move closer to a predator
-                            if (cross (ax, ay, cx, cy) * cross (ax, ay, bx, by) >= 0
-                                && cross (bx, by, cx, cy) * cross(bx, by, ax, ay) >= 0)
-                            {
-                                continue; // don't consider this pigeonhole
-                            }
-                            
-                            double dist = Math.sqrt ((pigeon.getX () - hole.getX (pigeon)) * (pigeon.getX () - hole.getX (pigeon))
-                                                + (pigeon.getY () - hole.getY (pigeon)) * (pigeon.getY () - hole.getY (pigeon)));
-                            if (dist < minDist)
-                            {
-                                minDist = dist;
-                                closeHole = hole;
-                            }
-                        }
-                    }
-                    if (closeHole == null && !danger) // No breeding opportunities
-                    {
-                        // Loop to search for nearby pigeonholes
-                        for (int j = 0; j < holes.size (); j++)
-                        {
-                            Pigeonhole hole = holes.get (j);
-                            if (!hole.getFilled (pigeon.getGender ())) // Check for unfilled pigeonhole
-                            {
-                                double dist = Math.sqrt ((pigeon.getX () - hole.getX (pigeon)) * (pigeon.getX () - hole.getX (pigeon))
-                                                    + (pigeon.getY () - hole.getY (pigeon)) * (pigeon.getY () - hole.getY (pigeon)));
-                                if (dist < minDist)
-                                {
-                                    minDist = dist;
-                                    closeHole = hole;
-                                }
-                            }
-                        }
-                    }
-    
-                    try
-                    {
-                        // Move toward closest pigeonhole
-                        pigeon.move (closeHole.getX (pigeon) - pigeon.getX (), closeHole.getY (pigeon) - pigeon.getY ());
-                    }
-                    catch (NullPointerException ex) // No pigeonhole to go to
-                    {
-                        pigeon.move (dx, dy); // Random motion while waiting
+                        commitMove (awake[k]);
                     }
                 }
             }
-            
-            if (pigeon.isHomeless ()) // Actions for pigeons outside of pigeonholes
+            else
             {
-                if (pigeon.getFull () < 0.5 && pigeon.getY () >= 555) // Pigeon is allowed to eat and is in food region
+                for (int k = 0; k < awakeCount; k++)
                 {
-                    // Check for nearby food to eat
-                    for (int j = 0; j < foods.size (); j++)
-                    {
-                        Food food = foods.get (j);
-                        
-                        // Check if pigeon coincides with food
-                        if (pigeon.getX () < food.getX () + 10 && pigeon.getX () + 5 > food.getX ())
-                        {
-                            if (pigeon.getY () < food.getY () + 10 && pigeon.getY () + 5 > food.getY ())
-                            {
-                                pigeon.eat (); // Pigeon is close enough to eat food
-                                
-                                foods.remove (j); // Remove eaten food
-                                
-                                j = foods.size (); // Break out of loop
-                            }
-                        }
-                    }
-                }
-            
-                // Check for nearby pigeonholes to enter
-                for (int j = 0; j < holes.size (); j++)
-                {
-                    Pigeonhole hole = holes.get (j);
-                    
-                    // Check if pigeon coincides with pigeonhole
-                    if (Math.floor (pigeon.getX ()) > hole.getX (pigeon)) // Pigeonhole is too far to the left
-                    {
-                        j += 13; // Skip an entire column of pigeonholes
-                    }
-                    else if (Math.floor (pigeon.getX ()) < hole.getX (pigeon)) // Remaining pigeonholes are too far to the right
-                    {
-                        j = holes.size (); // Skip all the pigeonholes
-                    }
-                    else if (Math.floor (pigeon.getY ()) < hole.getY (pigeon)) // Remaining pigeonholes are too far down
-                    {
-                        j = holes.size (); // Skip all the pigeonholes
-                    }
-                    else if (Math.floor (pigeon.getY ()) == hole.getY (pigeon)) // Pigeon coincides with pigeonhole
-                    {
-                        // Check if pigeon can enter hole
-                        if (!hole.getFilled (pigeon.getGender ()))
-                        {
-                            pigeon.enterHole (hole); // Enter the pigeonhole
-                        }
-                        
-                        j = holes.size (); // Skip the remaining pigeonholes
-                    }
+                    commitMove (awake[k]);
                 }
             }
+            pigeons.checkHealth (dormant, dormantCount); // Age every resting pigeon at once
+        }
             
-            pigeons.get (i).checkHealth (); // Check health
-            
-            if (pigeons.get (i).isDead ()) // Need to remove dead pigeons
+        // Loop through pigeonholes to check for breeding, and then add the babies all at once
+        if (config.getThreads () == 0)
+        {
+            for (int j = 0; j < holes.size (); j++)
             {
-                pigeons.remove (i);
-                i--;
+                holes.get (j).checkBreeding (this);
             }
         }
-            
-        // Loop through pigeonholes to check for breeding
-        for (int j = 0; j < holes.size (); j++)
+        else // Each pigeonhole only changes itself and its own pigeons, so they can be checked at the same time
         {
-            holes.get (j).checkBreeding ();
+            planner.invoke (new BreedTask (0, holes.size ()));
         }
+        addBirths ();
         
-        // Loop to randomly place/remove food in the food section seasonally
-        double lowSeason = (620.0 - PigeonholeSimulation.minSlideLoc) / 200;
-        double highSeason = (620.0 - PigeonholeSimulation.maxSlideLoc) / 200;
+        // Remove every pigeon that died during the frame in one pass, now that nothing refers to them by index
+        pigeons.removeDead ();
+        statsStale = true;
         
-        // Model the seasons with sinusoidal curve
-        double numFood = (lowSeason + highSeason) / 2
-                        + (highSeason - lowSeason) / 2 * Math.sin (Math.PI * age / 3600);
+        // Loop to randomly place/remove food in the food section seasonally
+        double numFood = getFoodRate ();
                         
         // Loop to place required amount of food
         for (int i = 0; i < (int) numFood; i++)
         {
-            foods.add (new Food ((int) (Math.random () * 630), 560 + (int) (70 * Math.random ()))); // Select a random location
+            foods.add ((int) (foodRandom.nextDouble () * 630), 560 + (int) (70 * foodRandom.nextDouble ())); // Select a random location
         }
-        if (Math.random () < numFood % 1) // Express remaining food as a probability
+        if (foodRandom.nextDouble () < numFood % 1) // Express remaining food as a probability
         {
-            foods.add (new Food ((int) (Math.random () * 630), 560 + (int) (70 * Math.random ()))); // Select a random location
+            foods.add ((int) (foodRandom.nextDouble () * 630), 560 + (int) (70 * foodRandom.nextDouble ())); // Select a random location
         }
         
-        double numRem = 0.005 * foods.size (); // Remove food based on current amount of food
+        double numRem = config.getFoodDecay () * foods.size (); // Remove food based on current amount of food
         
         // Loop to remove required amount of food
         for (int i = 0; i < (int) numRem; i++)
         {
-            foods.remove (0); // Remove the oldest food
+            foods.removeOldest (); // Remove the oldest food
         }
-        if (Math.random () < numRem % 1) // Express remaining removals as a probability
+        if (foodRandom.nextDouble () < numRem % 1) // Express remaining removals as a probability
         {
-            foods.remove (0); // Remove the oldest food
+            foods.removeOldest (); // Remove the oldest food
         }
                                         
         // Modify speed of predators every 1000 frames to promote evolution
@@ -713,25 +823,580 @@ public class Colony
         { 
             for (int j = 0; j < predators.size (); j++)
             {
-                try
+                if (!getStats ().isEmpty ())
                 {
                     // Set predator to around average speed to eliminate slower-than-average pigeons
-                    predators.get (j).setSpeed (getAvgSpeed () * (1.05 + Math.random () * 0.1));
+                    predators.get (j).setSpeedAbove (getStats ().getAvgSpeed (), config.getPredatorSpeedLow (),
+                                                    config.getPredatorSpeedRange ());
                 }
-                catch (ArithmeticException ex)
+                else
                 {
                     predators.get (j).setSpeed (0); // Predators don't have to move if every pigeon is already dead
                 }
             }
         }
         
-        if (PigeonholeSimulation.DEBUG && age % 30 == 0)
+        if (config.isDebug () && age % 30 == 0)
         {
             System.out.println ("Alive: " + pigeons.size ()); // For detecting too much/not enough death
         }
         
-        GraphGUI.addStats (); // Add new stats to be displayed in graph
+        // Loop to tell listeners that the frame is done, such as the graph that displays new stats
+        for (int i = 0; i < listeners.size (); i++)
+        {
+            listeners.get (i).frameSimulated (this);
+        }
 
         age++; // Increment age
     } // move() method
+    
+    
+    /**
+     * This method lets a pigeon attack every pigeon close enough to fight, if it is desperate enough to attack.
+     * Only pigeons less than 5 pixels away are affected.
+     * 
+     * @param i The index of the pigeon.
+     */
+    private void fight (int i)
+    {
+        if (pigeons.isDesperate (i) && pigeons.isHomeless (i) && !pigeons.isDead (i)) // Only desperate pigeons would attack other pigeons
+        {
+            int cx = fightGrid.cellX (pigeons.getX (i));
+            int cy = fightGrid.cellY (pigeons.getY (i));
+            
+            // Loop through the surrounding cells, since pigeons have to be less than one cell apart to fight
+            for (int gx = cx - 1; gx <= cx + 1 && !pigeons.isDead (i); gx++)
+            {
+                for (int gy = cy - 1; gy <= cy + 1 && !pigeons.isDead (i); gy++)
+                {
+                    for (int j = fightGrid.first (gx, gy); j != -1 && !pigeons.isDead (i); j = fightGrid.next (j))
+                    {
+                        // Check for fighting conditions
+                        if (j != i && (!pigeons.isDesperate (j) || j > i) // Avoid double-counting attacks
+                            && !pigeons.isDead (j)
+                            && Math.abs (pigeons.getX (i) - pigeons.getX (j)) < 5
+                            && Math.abs (pigeons.getY (i) - pigeons.getY (j)) < 5)
+                        {
+                            pigeons.attack (i, pigeons, j); // The pigeons attack each other
+                        }
+                    }
+                }
+            }
+        }
+    } // fight(int) method
+    
+    
+    /**
+     * This method calculates the number of tiles that the settings ask for.
+     * With <code>AUTO_TILES</code>, each thread gets two tiles, so that every thread has a tile to move during each
+     * half of <code>runTiles</code>. Since the tiles then depend on the number of threads, so do the results.
+     * 
+     * @return The number of tiles asked for, which <code>assignTiles</code> may lower to fit the width of the world.
+     * @see SimulationConfig.tiles
+     */
+    private int tilesWanted ()
+    {
+        return (config.getTiles () == SimulationConfig.AUTO_TILES) ? 2 * config.getThreads () : config.getTiles ();
+    } // tilesWanted() method
+    
+    
+    /**
+     * This method sorts the pigeons into the tiles that they are in at the start of the frame.
+     * Each tile is a vertical strip of whole columns of pigeonholes, at least two columns wide, so that tiles that are
+     * not next to each other are always more than two halos apart. Pigeons that crossed into another tile during the
+     * last frame move over to that tile here.
+     */
+    private void assignTiles ()
+    {
+        int perTile = Math.max (2, (holes.getCols () + tilesWanted () - 1) / tilesWanted ());
+        double width = perTile * HoleGrid.SPACING;
+        tileCount = (holes.getCols () + perTile - 1) / perTile;
+        if (tileStart.length < tileCount + 1)
+        {
+            tileStart = new int[tileCount + 1];
+        }
+        if (tileOrder.length < pigeons.size ())
+        {
+            tileOrder = new int[Math.max (pigeons.size (), tileOrder.length * 2)];
+            tileOf = new int[tileOrder.length];
+        }
+        
+        // Loop to count the pigeons in each tile
+        Arrays.fill (tileStart, 0, tileCount + 1, 0);
+        for (int i = 0; i < pigeons.size (); i++)
+        {
+            tileOf[i] = Math.max (0, Math.min (tileCount - 1, (int) (pigeons.getX (i) / width)));
+            tileStart[tileOf[i] + 1]++;
+        }
+        for (int t = 0; t < tileCount; t++)
+        {
+            tileStart[t + 1] += tileStart[t];
+        }
+        
+        // Loop to place the pigeons, keeping them in order of index within each tile
+        for (int i = 0; i < pigeons.size (); i++)
+        {
+            tileOrder[tileStart[tileOf[i]]++] = i;
+        }
+        for (int t = tileCount; t > 0; t--) // Placing the pigeons moved each start to the next tile's start
+        {
+            tileStart[t] = tileStart[t - 1];
+        }
+        tileStart[0] = 0;
+    } // assignTiles() method
+    
+    
+    /**
+     * This method runs the fights or the moves of every tile, first on the even tiles and then on the odd tiles.
+     * Tiles share the same pigeons, food and pigeonholes, so a tile simply reads the edges of the tiles beside it
+     * instead of keeping copies of them; since those tiles never run at the same time, nothing is changed while
+     * it is being read, and the result is the same no matter how many threads there are.
+     * 
+     * @param fights Whether the pigeons should fight, or carry out their planned moves.
+     */
+    private void runTiles (boolean fights)
+    {
+        for (int parity = 0; parity < 2; parity++)
+        {
+            int count = (tileCount - parity + 1) / 2; // The number of tiles of this parity
+            if (count > 0)
+            {
+                planner.invoke (new TileTask (parity, count, fights));
+            }
+        }
+    } // runTiles(boolean) method
+    
+    
+    /**
+     * This method runs the fights or the moves of the pigeons in one tile, in order of index.
+     * Pigeons that are fast enough to reach outside of the tile's halo are not moved, and are left for later.
+     * 
+     * @param t The number of the tile.
+     * @param fights Whether the pigeons should fight, or carry out their planned moves.
+     */
+    private void runTile (int t, boolean fights)
+    {
+        for (int k = tileStart[t]; k < tileStart[t + 1]; k++)
+        {
+            int i = tileOrder[k];
+            if (!fights && pigeons.isResting (i))
+            {
+                continue; // Resting pigeons are aged after every tile has moved
+            }
+            if (fights)
+            {
+                fight (i); // Fights only reach 5 pixels, so they never leave the halo
+            }
+            else if (pigeons.getSpeed (i) > TILE_HALO - 10)
+            {
+                planDeferred[i] = true;
+            }
+            else
+            {
+                commitMove (i);
+            }
+        }
+    } // runTile(int,boolean) method
+    
+    
+    /**
+     * This method decides how a pigeon wants to move during this frame, without changing anything in the world.
+     * The decision is stored in the plan arrays, to be carried out by <code>commitMove</code>.
+     * Since nothing is changed, the pigeons can decide at the same time on different threads.
+     * 
+     * @param i The index of the pigeon.
+     * @see commitMove(int)
+     */
+    private void planMove (int i)
+    {
+        planMoves[i] = planExit[i] = planDeferred[i] = false;
+        if (pigeons.isDead (i))
+        {
+            return; // Pigeon was eaten or died while fighting, and will be removed at the end of the frame
+        }
+        
+        boolean danger = !pigeons.isSafe (i, predators); // Whether or not the pigeon is in danger from predators
+        
+        // Very confusing motion algorithm
+        double dx = 0, dy = 0;
+        
+        if (danger) // Stop everything else and fly away from danger
+        {
+            Predator near = null;
+            double minDist = 1e99;
+            
+            // Loop to search for closest predator to fly away from
+            for (int j = 0; j < predators.size (); j++)
+            {
+                Predator p = predators.get (j);
+                double dist = Math.sqrt ((pigeons.getX (i) - p.getX ()) * (pigeons.getX (i) - p.getX ())
+                                        + (pigeons.getY (i) - p.getY ()) * (pigeons.getY (i) - p.getY ()));
+                
+                if (dist < minDist)
+                {
+                    minDist = dist;
+                    near = p;
+                }
+            }
+            
+            // Try to move away from predator
+            double deltaX = pigeons.getX (i) - near.getX ();
+            double deltaY = pigeons.getY (i) - near.getY ();
+            double weight = Math.sqrt (3600 - deltaX * deltaX - deltaY * deltaY); // Scale reaction based on proximity
+            dx = deltaX * weight;
+            dy = deltaY * weight;
+        }
+        
+        if (pigeons.getFull (i) < 0.5 && !pigeons.isBreeding (i)) // Pigeon is hungry and is not busy breeding
+        {
+            if (Pigeon.isSafe (predators, pigeons.getX (i), pigeons.getY (i), config.getSafety ()))
+            {
+                planExit[i] = true; // Should leave hole to search for food and safe to do so
+            }
+            else if (pigeons.getFull (i) < 0.2)
+            {
+                planExit[i] = true; // Pigeon is just too hungry and will die if it doesn't leave the hole
+            }
+            
+            if (planExit[i] || pigeons.isHomeless (i)) // Pigeon can move around to look for food
+            {
+                double x = pigeons.getX (i);
+                double y = pigeons.getY (i);
+                
+                // Search for closest food that is safe
+                int closeFood = foodIndex.nearestSafe (x, y, predators, config.getSafety ());
+                double minDist = 1e99;
+                if (closeFood != -1)
+                {
+                    double fx = foods.getX (closeFood);
+                    double fy = foods.getY (closeFood);
+                    minDist = Math.sqrt ((x - fx) * (x - fx) + (y - fy) * (y - fy));
+                }
+                double pigeonDist = 1e99;
+                int closePigeon = -1;
+                
+                // If desperate, try to eat the nearest pigeon if closer than food
+                if (pigeons.isDesperate (i))
+                {
+                    // Search the homeless pigeons for the closest one that can be targeted
+                    closePigeon = preyGrid.nearest (x, y, j -> i != j && pigeons.isHomeless (j) && !pigeons.isDead (j)
+                                                        && Pigeon.isSafe (predators, pigeons.getX (j), pigeons.getY (j), config.getSafety ()));
+                    if (closePigeon != -1)
+                    {
+                        pigeonDist = Math.sqrt ((x - pigeons.getX (closePigeon)) * (x - pigeons.getX (closePigeon))
+                                                + (y - pigeons.getY (closePigeon)) * (y - pigeons.getY (closePigeon)));
+                    }
+                }
+                
+                // Move toward closest food if closer than closest pigeon
+                if (closeFood != -1 && minDist <= pigeonDist)
+                {
+                    plan (i, foods.getX (closeFood) - x + dx, foods.getY (closeFood) - y + dy); // Adjust motion to go toward food
+                }
+                else if (closePigeon != -1) // Move toward closest pigeon if closer than closest food
+                {
+                    if (!pigeons.isDesperate (i) && config.isDebug ())
+                    {
+                        System.out.println ("FIGHTING ERROR!");
+                    }
+                    plan (i, pigeons.getX (closePigeon) - x + dx, pigeons.getY (closePigeon) - y + dy);
+                }
+                else // No food to go to
+                {
+                    plan (i, 0, 1e99); // Move down to wait for food
+                }
+            }
+        }
+        else
+        {
+            if (pigeons.isHomeless (i)) // Pigeon should search for a pigeonhole
+            {
+                Pigeonhole closeHole = null;
+                int gender = pigeons.getGender (i);
+                double x = pigeons.getX (i);
+                double y = pigeons.getY (i);
+                
+                double ax = dy, ay = -dx; // The pigeon isn't allowed to travel in a direction contained by these vectors
+                double bx = -dy, by = dx; // as it would mean the pigeon is moving closer to a predator
+                
+                // Check if moving towards a pigeonhole would make the pigeon move closer to a predator
+                Predicate<Pigeonhole> away = hole ->
+                {
+                    double cx = hole.getX (gender) - x;
+                    double cy = hole.getY (gender) - y;
+                    return !(cross (ax, ay, cx, cy) * cross (ax, ay, bx, by) >= 0
+                             && cross (bx, by, cx, cy) * cross (bx, by, ax, ay) >= 0);
+                };
+                
+                // Search for nearby breeding or hiding opportunities
+                if (danger)
+                {
+                    if (holes.getFree (gender) > 0)
+                    {
+                        closeHole = holes.nearest (gender, x, y, hole -> !hole.getFilled (gender) && away.test (hole));
+                    }
+                }
+                else
+                {
+                    closeHole = holes.nearestBreeding (gender, x, y, away);
+                }
+                if (closeHole == null && !danger) // No breeding opportunities
+                {
+                    closeHole = holes.nearestUnfilled (gender, x, y); // Search for nearby pigeonholes
+                }
+                
+                if (closeHole != null)
+                {
+                    // Move toward closest pigeonhole
+                    plan (i, closeHole.getX (gender) - x, closeHole.getY (gender) - y);
+                }
+                else // No pigeonhole to go to
+                {
+                    plan (i, dx, dy); // Random motion while waiting
+                }
+            }
+        }
+    } // planMove(int) method
+    
+    
+    /**
+     * This method records that a pigeon wants to move in a given way during this frame.
+     * 
+     * @param i The index of the pigeon.
+     * @param dx The change in x-coordinate that the pigeon wants.
+     * @param dy The change in y-coordinate that the pigeon wants.
+     */
+    private void plan (int i, double dx, double dy)
+    {
+        planMoves[i] = true;
+        planDX[i] = dx;
+        planDY[i] = dy;
+    } // plan(int,double,double) method
+    
+    
+    /**
+     * This method carries out the move that a pigeon decided on, and then lets the pigeon eat food or enter a pigeonhole.
+     * Pigeons should be committed in order, so that the first pigeon to reach a piece of food or a pigeonhole gets it.
+     * 
+     * @param i The index of the pigeon.
+     * @see planMove(int)
+     */
+    private void commitMove (int i)
+    {
+        if (pigeons.isDead (i))
+        {
+            return; // Dead pigeons are removed at the end of the frame
+        }
+        if (planExit[i])
+        {
+            pigeons.exitHole (i);
+        }
+        if (planMoves[i])
+        {
+            pigeons.move (i, planDX[i], planDY[i]);
+        }
+        
+        if (pigeons.isHomeless (i)) // Actions for pigeons outside of pigeonholes
+        {
+            if (pigeons.getFull (i) < 0.5 && pigeons.getY (i) >= 555) // Pigeon is allowed to eat and is in food region
+            {
+                // Check for nearby food to eat
+                int food = foodIndex.foodUnder (pigeons.getX (i), pigeons.getY (i));
+                if (food != -1)
+                {
+                    pigeons.eat (i); // Pigeon is close enough to eat food
+                    foods.eat (food); // Remove eaten food
+                }
+            }
+            
+            // Check for a pigeonhole that the pigeon coincides with
+            Pigeonhole hole = holes.holeAt (pigeons.getGender (i), pigeons.getX (i), pigeons.getY (i));
+            if (hole != null && !hole.getFilled (pigeons.getGender (i))) // Check if pigeon can enter hole
+            {
+                pigeons.enterHole (i, hole); // Enter the pigeonhole
+            }
+        }
+        
+        pigeons.checkHealth (i); // Check health, which might starve the pigeon to death
+        
+        if (config.getThreads () == 0) // Later pigeons plan their moves after this one moved, so they look for it where it is now
+        {
+            preyGrid.remove (i);
+            if (pigeons.isHomeless (i) && !pigeons.isDead (i))
+            {
+                preyGrid.insert (i, pigeons.getX (i), pigeons.getY (i));
+            }
+        }
+    } // commitMove(int) method
+    
+    
+    /**
+     * A task that plans the moves of a range of the pigeons that are not resting, splitting itself in half until
+     * the ranges are small.
+     */
+    private class PlanTask extends RecursiveAction
+    {
+        /**
+         * The version of the serialized form of this class.
+         */
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The position of the first pigeon of the range in the list of awake pigeons.
+         */
+        private final int from;
+        
+        /**
+         * The position after the last pigeon of the range in the list of awake pigeons.
+         */
+        private final int to;
+        
+        
+        /**
+         * This constructor method creates a task that plans the moves of a given range of pigeons.
+         * 
+         * @param from1 The position of the first pigeon of the range in the list of awake pigeons.
+         * @param to1 The position after the last pigeon of the range in the list of awake pigeons.
+         */
+        public PlanTask (int from1, int to1)
+        {
+            from = from1;
+            to = to1;
+        } // PlanTask(int,int) constructor
+        
+        
+        /**
+         * This method plans the moves of the pigeons in the range.
+         */
+        protected void compute ()
+        {
+            if (to - from <= 256) // Small enough to plan directly
+            {
+                for (int k = from; k < to; k++)
+                {
+                    planMove (awake[k]);
+                }
+            }
+            else
+            {
+                int mid = (from + to) >>> 1;
+                invokeAll (new PlanTask (from, mid), new PlanTask (mid, to));
+            }
+        } // compute() method
+    } // PlanTask class
+    
+    
+    /**
+     * A task that checks breeding in a range of pigeonholes, splitting itself in half until the ranges are small.
+     */
+    private class BreedTask extends RecursiveAction
+    {
+        /**
+         * The version of the serialized form of this class.
+         */
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The number of the first pigeonhole in the range.
+         */
+        private final int from;
+        
+        /**
+         * The number after the last pigeonhole in the range.
+         */
+        private final int to;
+        
+        
+        /**
+         * This constructor method creates a task that checks breeding in a given range of pigeonholes.
+         * 
+         * @param from1 The number of the first pigeonhole in the range.
+         * @param to1 The number after the last pigeonhole in the range.
+         */
+        public BreedTask (int from1, int to1)
+        {
+            from = from1;
+            to = to1;
+        } // BreedTask(int,int) constructor
+        
+        
+        /**
+         * This method checks breeding in the pigeonholes in the range.
+         */
+        protected void compute ()
+        {
+            if (to - from <= 64) // Small enough to check directly
+            {
+                for (int j = from; j < to; j++)
+                {
+                    holes.get (j).checkBreeding (Colony.this);
+                }
+            }
+            else
+            {
+                int mid = (from + to) >>> 1;
+                invokeAll (new BreedTask (from, mid), new BreedTask (mid, to));
+            }
+        } // compute() method
+    } // BreedTask class
+    
+    
+    /**
+     * A task that runs the fights or the moves of every other tile in a range, splitting itself in half until
+     * it is down to one tile.
+     */
+    private class TileTask extends RecursiveAction
+    {
+        /**
+         * The version of the serialized form of this class.
+         */
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The number of the first tile in the range.
+         */
+        private final int first;
+        
+        /**
+         * The number of tiles in the range, counting every other tile.
+         */
+        private final int count;
+        
+        /**
+         * Whether the pigeons should fight, or carry out their planned moves.
+         */
+        private final boolean fights;
+        
+        
+        /**
+         * This constructor method creates a task that runs every other tile in a given range.
+         * 
+         * @param first1 The number of the first tile in the range.
+         * @param count1 The number of tiles in the range, counting every other tile.
+         * @param fights1 Whether the pigeons should fight, or carry out their planned moves.
+         */
+        public TileTask (int first1, int count1, boolean fights1)
+        {
+            first = first1;
+            count = count1;
+            fights = fights1;
+        } // TileTask(int,int,boolean) constructor
+        
+        
+        /**
+         * This method runs the tiles in the range.
+         */
+        protected void compute ()
+        {
+            if (count == 1)
+            {
+                runTile (first, fights);
+            }
+            else
+            {
+                int half = count / 2;
+                invokeAll (new TileTask (first, half, fights), new TileTask (first + 2 * half, count - half, fights));
+            }
+        } // compute() method
+    } // TileTask class
 } // Colony class
@@ -0,0 +1,203 @@
+/**
+ * A summary of the statistics of a colony of pigeons, such as the average traits and the percentage of sick pigeons.
+ * Every statistic is calculated in one pass over the pigeons, and can then be read as many times as needed.
+ * If the colony is empty, the averages and percentages are undefined and are reported as <code>NaN</code>.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class ColonyStats
+{
+    /**
+     * The number of pigeons in the colony.
+     */
+    private int size;
+    
+    /**
+     * The average base speed of the pigeons.
+     */
+    private double avgSpeed;
+    
+    /**
+     * The average base power of the pigeons.
+     */
+    private double avgPower;
+    
+    /**
+     * The average base maximum HP of the pigeons.
+     */
+    private double avgMaxHP;
+    
+    /**
+     * The average mutation level of the pigeons.
+     */
+    private double avgMut;
+    
+    /**
+     * The average fullness of the pigeons.
+     */
+    private double avgFull;
+    
+    /**
+     * The percentage of pigeons that are sick.
+     */
+    private double disease;
+    
+    /**
+     * The percentage of pigeons that are old, which means at least 9000 frames old by default.
+     */
+    private double old;
+    
+    
+    /**
+     * This constructor method creates the statistics of an empty colony.
+     */
+    public ColonyStats ()
+    {
+        size = 0;
+        avgSpeed = avgPower = avgMaxHP = avgMut = avgFull = disease = old = Double.NaN;
+    } // ColonyStats() constructor
+    
+    
+    /**
+     * This method recalculates every statistic from the pigeons in a given store.
+     * 
+     * @param pigeons The store that holds the pigeons.
+     */
+    public void refresh (PigeonStore pigeons)
+    {
+        size = pigeons.size ();
+        
+        // Loop to add up every statistic at once
+        double speed = 0, power = 0, maxHP = 0, mut = 0, full = 0;
+        int sick = 0, aged = 0;
+        for (int i = 0; i < size; i++)
+        {
+            speed += pigeons.getBaseSpeed (i);
+            power += pigeons.getBasePower (i);
+            maxHP += pigeons.getBaseHP (i);
+            mut += pigeons.getMut (i);
+            full += pigeons.getFull (i);
+            sick += pigeons.isSick (i) ? 1 : 0;
+            aged += pigeons.isOld (i) ? 1 : 0;
+        }
+        
+        // Averages are undefined for an empty colony, and dividing by zero gives NaN
+        avgSpeed = speed / size;
+        avgPower = power / size;
+        avgMaxHP = maxHP / size;
+        avgMut = mut / size;
+        avgFull = full / size;
+        disease = 100.0 * sick / size;
+        old = 100.0 * aged / size;
+    } // refresh(PigeonStore) method
+    
+    
+    /**
+     * This method determines whether or not the colony was empty, in which case every average is undefined.
+     * 
+     * @return <code>true</code> if and only if there were no pigeons in the colony.
+     */
+    public boolean isEmpty ()
+    {
+        return size == 0;
+    } // isEmpty() method
+    
+    
+    /**
+     * This accessor method returns the number of pigeons in the colony.
+     * 
+     * @return The value of the <code>size</code> field.
+     * @see size
+     */
+    public int size ()
+    {
+        return size;
+    } // size() method
+    
+    
+    /**
+     * This accessor method returns the average base speed of the pigeons.
+     * 
+     * @return The value of the <code>avgSpeed</code> field, or <code>NaN</code> if the colony is empty.
+     * @see avgSpeed
+     */
+    public double getAvgSpeed ()
+    {
+        return avgSpeed;
+    } // getAvgSpeed() method
+    
+    
+    /**
+     * This accessor method returns the average base power of the pigeons.
+     * 
+     * @return The value of the <code>avgPower</code> field, or <code>NaN</code> if the colony is empty.
+     * @see avgPower
+     */
+    public double getAvgPower ()
+    {
+        return avgPower;
+    } // getAvgPower() method
+    
+    
+    /**
+     * This accessor method returns the average base maximum HP of the pigeons.
+     * 
+     * @return The value of the <code>avgMaxHP</code> field, or <code>NaN</code> if the colony is empty.
+     * @see avgMaxHP
+     */
+    public double getAvgMaxHP ()
+    {
+        return avgMaxHP;
+    } // getAvgMaxHP() method
+    
+    
+    /**
+     * This accessor method returns the average mutation level of the pigeons.
+     * 
+     * @return The value of the <code>avgMut</code> field, or <code>NaN</code> if the colony is empty.
+     * @see avgMut
+     */
+    public double getAvgMut ()
+    {
+        return avgMut;
+    } // getAvgMut() method
+    
+    
+    /**
+     * This accessor method returns the average fullness of the pigeons.
+     * 
+     * @return The value of the <code>avgFull</code> field, or <code>NaN</code> if the colony is empty.
+     * @see avgFull
+     */
+    public double getAvgFull ()
+    {
+        return avgFull;
+    } // getAvgFull() method
+    
+    
+    /**
+     * This accessor method returns the percentage of pigeons that are sick.
+     * 
+     * @return The value of the <code>disease</code> field, or <code>NaN</code> if the colony is empty.
+     * @see disease
+     */
+    public double getDisease ()
+    {
+        return disease;
+    } // getDisease() method
+    
+    
+    /**
+     * This accessor method returns the percentage of pigeons that are old.
+     * 
+     * @return The value of the <code>old</code> field, or <code>NaN</code> if the colony is empty.
+     * @see old
+     */
+    public double getOld ()
+    {
+        return old;
+    } // getOld() method
+} // ColonyStats class
@@ -0,0 +1,300 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * A grid that counts how many pigeons are in each square cell of the world, along with totals of their traits,
+ * so that a huge colony can be drawn as a heatmap instead of one square per pigeon.
+ * Drawing the grid costs the same no matter how many pigeons there are.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class DensityGrid
+{
+    /**
+     * The width and height of each cell, in pixels.
+     */
+    public static final int CELL = 4;
+    
+    /**
+     * The smallest number of pigeons that are counted by one task when the grid is built in parallel.
+     * Each task needs a grid of its own, so there is no point in having many small tasks.
+     */
+    private static final int THRESHOLD = 4096;
+    
+    /**
+     * The number of columns of cells.
+     */
+    private final int cols;
+    
+    /**
+     * The number of rows of cells.
+     */
+    private final int rows;
+    
+    /**
+     * The number of male pigeons in each cell, row by row.
+     */
+    private final int[] males;
+    
+    /**
+     * The number of female pigeons in each cell, row by row.
+     */
+    private final int[] females;
+    
+    /**
+     * The number of pigeons with a disease in each cell, row by row.
+     */
+    private final int[] sick;
+    
+    /**
+     * The total fullness of the pigeons in each cell, as levels from 0 to <code>DisplayMode.LEVELS - 1</code>.
+     * 
+     * @see DisplayMode.FULLNESS
+     */
+    private final int[] full;
+    
+    /**
+     * The largest number of pigeons in any cell.
+     */
+    private int max;
+    
+    
+    /**
+     * This constructor method creates a new empty grid that covers an area of a given size.
+     * Pigeons outside of the area are counted in the nearest edge cell.
+     * 
+     * @param width The width of the area, in pixels.
+     * @param height The height of the area, in pixels.
+     */
+    public DensityGrid (int width, int height)
+    {
+        cols = Math.max (1, (width + CELL - 1) / CELL);
+        rows = Math.max (1, (height + CELL - 1) / CELL);
+        males = new int[cols * rows];
+        females = new int[cols * rows];
+        sick = new int[cols * rows];
+        full = new int[cols * rows];
+        max = 0;
+    } // DensityGrid(int,int) constructor
+    
+    
+    /**
+     * This method counts the pigeons in a snapshot, splitting the work between the threads of the common pool.
+     * 
+     * @param snapshot The snapshot that holds the pigeons.
+     * @param width The width of the area that the grid should cover, in pixels.
+     * @param height The height of the area that the grid should cover, in pixels.
+     * @return A grid with every pigeon in the snapshot counted.
+     */
+    public static DensityGrid build (FrameSnapshot snapshot, int width, int height)
+    {
+        int chunk = Math.max (THRESHOLD, snapshot.size () / ForkJoinPool.getCommonPoolParallelism () + 1);
+        DensityGrid grid = ForkJoinPool.commonPool ().invoke (new CountTask (snapshot, width, height, 0, snapshot.size (), chunk));
+        
+        // Loop to find the most crowded cell, which is drawn at full brightness
+        for (int c = 0; c < grid.males.length; c++)
+        {
+            grid.max = Math.max (grid.max, grid.males[c] + grid.females[c]);
+        }
+        return grid;
+    } // build(FrameSnapshot,int,int) method
+    
+    
+    /**
+     * This accessor method returns the number of columns of cells.
+     * 
+     * @return The value of the <code>cols</code> field.
+     * @see cols
+     */
+    public int getCols ()
+    {
+        return cols;
+    } // getCols() method
+    
+    
+    /**
+     * This accessor method returns the number of rows of cells.
+     * 
+     * @return The value of the <code>rows</code> field.
+     * @see rows
+     */
+    public int getRows ()
+    {
+        return rows;
+    } // getRows() method
+    
+    
+    /**
+     * This method counts a pigeon in the cell that contains its centre.
+     * 
+     * @param x The x-coordinate of the centre of the pigeon.
+     * @param y The y-coordinate of the centre of the pigeon.
+     * @param gender An integer representing the gender of the pigeon.
+     * @param sick1 Whether or not the pigeon has a disease.
+     * @param full1 How full the pigeon is, as a level from 0 to <code>DisplayMode.LEVELS - 1</code>.
+     */
+    public void add (int x, int y, int gender, boolean sick1, int full1)
+    {
+        int cell = Math.max (0, Math.min (rows - 1, y / CELL)) * cols + Math.max (0, Math.min (cols - 1, x / CELL));
+        if (gender == 0) // Male pigeon
+        {
+            males[cell]++;
+        }
+        else // Female pigeon
+        {
+            females[cell]++;
+        }
+        if (sick1)
+        {
+            sick[cell]++;
+        }
+        full[cell] += full1;
+    } // add(int,int,int,boolean,int) method
+    
+    
+    /**
+     * This method adds every pigeon counted in another grid of the same size to this grid.
+     * 
+     * @param other The other grid.
+     */
+    private void addAll (DensityGrid other)
+    {
+        for (int c = 0; c < males.length; c++)
+        {
+            males[c] += other.males[c];
+            females[c] += other.females[c];
+            sick[c] += other.sick[c];
+            full[c] += other.full[c];
+        }
+    } // addAll(DensityGrid) method
+    
+    
+    /**
+     * This method calculates the colour that a cell should be drawn with in a given heatmap mode.
+     * Crowded cells are drawn brighter, on a logarithmic scale so that a few very crowded cells do not hide the rest.
+     * 
+     * @param cell The index of the cell, counting row by row.
+     * @param mode The heatmap mode.
+     * @return The colour of the cell, as <code>0xRRGGBB</code>, or -1 if the cell is empty.
+     */
+    public int rgb (int cell, DisplayMode mode)
+    {
+        int count = males[cell] + females[cell];
+        if (count == 0)
+        {
+            return -1; // Nothing to draw
+        }
+        
+        double bright = 0.3 + 0.7 * Math.log1p (count) / Math.log1p (max); // A lone pigeon can still be seen
+        double red, green, blue;
+        if (mode == DisplayMode.DISEASE_DENSITY)
+        {
+            double rate = (double) sick[cell] / count; // White when healthy, red when every pigeon is sick
+            red = 1;
+            green = blue = 1 - rate;
+        }
+        else if (mode == DisplayMode.FULLNESS_DENSITY)
+        {
+            double average = (double) full[cell] / count / (DisplayMode.LEVELS - 1); // Red when hungry, blue when full
+            red = 1 - average;
+            green = 0.25;
+            blue = average;
+        }
+        else // Red for females and blue for males, so mixed cells are purple
+        {
+            red = (double) females[cell] / count;
+            green = 0;
+            blue = (double) males[cell] / count;
+        }
+        return ((int) (red * bright * 255) << 16) | ((int) (green * bright * 255) << 8) | (int) (blue * bright * 255);
+    } // rgb(int,DisplayMode) method
+    
+    
+    /**
+     * A task that counts a range of the pigeons in a snapshot, splitting itself in half until the range is small enough.
+     */
+    private static class CountTask extends RecursiveTask<DensityGrid>
+    {
+        /**
+         * The version of the serialized form of this class.
+         */
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The snapshot that holds the pigeons.
+         */
+        private final FrameSnapshot snapshot;
+        
+        /**
+         * The width of the area that the grid should cover, in pixels.
+         */
+        private final int width;
+        
+        /**
+         * The height of the area that the grid should cover, in pixels.
+         */
+        private final int height;
+        
+        /**
+         * The index of the first pigeon in the range.
+         */
+        private final int from;
+        
+        /**
+         * The index after the last pigeon in the range.
+         */
+        private final int to;
+        
+        /**
+         * The largest number of pigeons that are counted without splitting.
+         */
+        private final int chunk;
+        
+        
+        /**
+         * This constructor method creates a task that counts a given range of pigeons.
+         * 
+         * @param snapshot1 The snapshot that holds the pigeons.
+         * @param width1 The width of the area that the grid should cover, in pixels.
+         * @param height1 The height of the area that the grid should cover, in pixels.
+         * @param from1 The index of the first pigeon in the range.
+         * @param to1 The index after the last pigeon in the range.
+         * @param chunk1 The largest number of pigeons that are counted without splitting.
+         */
+        public CountTask (FrameSnapshot snapshot1, int width1, int height1, int from1, int to1, int chunk1)
+        {
+            snapshot = snapshot1;
+            width = width1;
+            height = height1;
+            from = from1;
+            to = to1;
+            chunk = chunk1;
+        } // CountTask(FrameSnapshot,int,int,int,int,int) constructor
+        
+        
+        /**
+         * This method counts the pigeons in the range.
+         * 
+         * @return A grid with the pigeons in the range counted.
+         */
+        protected DensityGrid compute ()
+        {
+            if (to - from <= chunk)
+            {
+                DensityGrid grid = new DensityGrid (width, height);
+                snapshot.count (grid, from, to);
+                return grid;
+            }
+            
+            int mid = (from + to) >>> 1;
+            CountTask right = new CountTask (snapshot, width, height, mid, to, chunk);
+            right.fork ();
+            DensityGrid grid = new CountTask (snapshot, width, height, from, mid, chunk).compute ();
+            grid.addAll (right.join ());
+            return grid;
+        } // compute() method
+    } // CountTask class
+} // DensityGrid class
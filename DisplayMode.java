@@ -0,0 +1,170 @@
+/**
+ * The stats that pigeons can be shaded by in the simulation window.
+ * The stat is turned into a level from 0 (black) to <code>LEVELS - 1</code> (full colour) when a snapshot is taken,
+ * so drawing a pigeon only needs to look its colour up in <code>Pigeon.PALETTE</code>.
+ * Heatmap modes draw how crowded each part of the world is instead of drawing each pigeon.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public enum DisplayMode
+{
+    /**
+     * Pigeons get darker as they get hungrier.
+     */
+    FULLNESS ("Individual fullness"),
+    
+    /**
+     * Pigeons get darker as they lose HP.
+     */
+    HP ("Individual HP"),
+    
+    /**
+     * Pigeons with a disease are drawn at half brightness.
+     */
+    DISEASE ("Individual disease"),
+    
+    /**
+     * Pigeons get darker as they get closer to old age.
+     */
+    AGE ("Individual age"),
+    
+    /**
+     * Pigeons get darker the slower they are.
+     */
+    SPEED ("Individual speed"),
+    
+    /**
+     * Pigeons get darker the less their children mutate.
+     */
+    MUTATION ("Individual mutation"),
+    
+    /**
+     * A heatmap of where males and females are.
+     */
+    DENSITY ("Heatmap of genders", true),
+    
+    /**
+     * A heatmap of where pigeons are, coloured by how many of them have a disease.
+     */
+    DISEASE_DENSITY ("Heatmap of disease", true),
+    
+    /**
+     * A heatmap of where pigeons are, coloured by how full they are on average.
+     */
+    FULLNESS_DENSITY ("Heatmap of fullness", true);
+    
+    /**
+     * The number of levels of brightness that a pigeon can be drawn with.
+     */
+    public static final int LEVELS = 256;
+    
+    /**
+     * The speed at which a pigeon is drawn at full brightness, in pixels per frame.
+     */
+    private static final double FAST = 2;
+    
+    /**
+     * The mutation level at which a pigeon is drawn at full brightness.
+     */
+    private static final double MUTANT = 0.2;
+    
+    /**
+     * The name of the stat, as shown in the simulation window.
+     */
+    private final String label;
+    
+    /**
+     * Whether or not the mode draws a heatmap instead of each pigeon.
+     */
+    private final boolean heatmap;
+    
+    
+    /**
+     * This constructor method creates a new display mode that draws each pigeon.
+     * 
+     * @param label1 The name of the stat, as shown in the simulation window.
+     */
+    private DisplayMode (String label1)
+    {
+        this (label1, false);
+    } // DisplayMode(String) constructor
+    
+    
+    /**
+     * This constructor method creates a new display mode.
+     * 
+     * @param label1 The name of the stat, as shown in the simulation window.
+     * @param heatmap1 Whether or not the mode draws a heatmap instead of each pigeon.
+     */
+    private DisplayMode (String label1, boolean heatmap1)
+    {
+        label = label1;
+        heatmap = heatmap1;
+    } // DisplayMode(String,boolean) constructor
+    
+    
+    /**
+     * This method returns the name of the stat, so that it can be shown in the simulation window.
+     * 
+     * @return The value of the <code>label</code> field.
+     * @see label
+     */
+    public String toString ()
+    {
+        return label;
+    } // toString() method
+    
+    
+    /**
+     * This method determines whether or not the mode draws a heatmap instead of each pigeon.
+     * 
+     * @return The value of the <code>heatmap</code> field.
+     * @see heatmap
+     */
+    public boolean isHeatmap ()
+    {
+        return heatmap;
+    } // isHeatmap() method
+    
+    
+    /**
+     * This method calculates how brightly a pigeon should be drawn in this mode.
+     * Heatmap modes draw a lone pigeon at full colour.
+     * 
+     * @param pigeons The store that holds the pigeon.
+     * @param i The index of the pigeon.
+     * @return A level from 0 (black) to <code>LEVELS - 1</code> (full colour).
+     */
+    public int level (PigeonStore pigeons, int i)
+    {
+        double scale;
+        switch (this)
+        {
+            case FULLNESS:
+                scale = 2 * Math.min (0.5, pigeons.getFull (i)); // Darkness depends on fullness
+                break;
+            case HP:
+                scale = pigeons.getHP (i) / pigeons.getMaxHP (i); // Darkness depends on HP
+                break;
+            case DISEASE:
+                scale = pigeons.isSick (i) ? 0.5 : 1; // Darkness depends on disease
+                break;
+            case AGE:
+                scale = 1 - (double) pigeons.getAge (i) / pigeons.getConfig ().getOldAge (); // Darkness depends on age
+                break;
+            case SPEED:
+                scale = pigeons.getSpeed (i) / FAST; // Darkness depends on speed
+                break;
+            case MUTATION:
+                scale = pigeons.getMut (i) / MUTANT; // Darkness depends on mutation level
+                break;
+            default:
+                scale = 1;
+                break;
+        }
+        return (int) Math.round (Math.max (0, Math.min (1, scale)) * (LEVELS - 1));
+    } // level(PigeonStore,int) method
+} // DisplayMode enum
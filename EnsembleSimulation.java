@@ -0,0 +1,255 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This program simulates many independent colonies at the same time, using every core of the computer,
+ * and reports how their statistics change over time on average.
+ * Every colony gets its own seed, which is derived from a single seed, so the whole ensemble can be repeated.
+ * 
+ * The output is a table with one row per sample, in CSV format. For every statistic, it contains the mean over
+ * the colonies and a 95% confidence interval for the mean. Colonies that have died out are left out of the averages
+ * of traits, since those averages are undefined for an empty colony.
+ * 
+ * Usage: <code>java EnsembleSimulation colonies frames [interval [threads [seed]]]</code>
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class EnsembleSimulation
+{
+    /**
+     * The names of the statistics that are recorded for every colony, in the order that they are stored.
+     */
+    public static final String[] STATS = {"population", "speed", "power", "maxHP", "mutation", "fullness", "disease", "old"};
+    
+    /**
+     * How often, in milliseconds, progress should be reported.
+     */
+    private static final int REPORT_INTERVAL = 1000;
+    
+    
+    /**
+     * This method records the statistics of a colony in the order given by <code>STATS</code>.
+     * 
+     * @param colony The colony to be recorded.
+     * @param out The array that the statistics are stored in.
+     */
+    private static void record (Colony colony, double[] out)
+    {
+        ColonyStats stats = colony.getStats ();
+        out[0] = colony.size ();
+        out[1] = stats.getAvgSpeed ();
+        out[2] = stats.getAvgPower ();
+        out[3] = stats.getAvgMaxHP ();
+        out[4] = stats.getAvgMut ();
+        out[5] = stats.getAvgFull ();
+        out[6] = stats.getDisease ();
+        out[7] = stats.getOld ();
+    } // record(Colony,double[]) method
+    
+    
+    /**
+     * This method simulates one colony and records its statistics at regular intervals.
+     * 
+     * @param config The settings that the colony is simulated with.
+     * @param frames The number of frames to simulate.
+     * @param interval The number of frames between samples.
+     * @param progress The counter of frames simulated so far by every colony, which is increased as the colony runs.
+     * @return The statistics of the colony, indexed by sample and then by statistic.
+     * @throw IllegalArgumentException If the number of frames is negative or the interval is not positive.
+     */
+    public static double[][] runColony (SimulationConfig config, int frames, int interval, AtomicLong progress)
+    {
+        if (frames < 0 || interval <= 0)
+        {
+            throw new IllegalArgumentException ("The number of frames cannot be negative, and the interval must be positive.");
+        }
+        
+        Colony colony = new Colony (config);
+        double[][] samples = new double[frames / interval][STATS.length];
+        colony.addFrameListener (c ->
+        {
+            if ((c.getAge () + 1) % interval == 0)
+            {
+                record (c, samples[c.getAge () / interval]);
+                progress.addAndGet (interval); // Only report every sample, so the counter isn't fought over
+            }
+        });
+        
+        for (int i = 0; i < frames; i++)
+        {
+            colony.move ();
+        }
+        progress.addAndGet (frames % interval); // The frames after the last sample
+        return samples;
+    } // runColony(SimulationConfig,int,int,AtomicLong) method
+    
+    
+    /**
+     * This method waits for every task in a pool to finish, printing how many frames have been simulated every second.
+     * 
+     * @param pool The pool that the colonies are simulated in.
+     * @param progress The counter of frames simulated so far by every colony.
+     * @param total The number of frames that will have been simulated once every colony is done.
+     */
+    static void awaitProgress (ForkJoinPool pool, AtomicLong progress, long total)
+    {
+        long start = System.nanoTime ();
+        while (!pool.awaitQuiescence (REPORT_INTERVAL, TimeUnit.MILLISECONDS))
+        {
+            long done = progress.get ();
+            System.err.printf ("Progress: %d of %d frames (%.1f%%), %.0f frames per second%n", done, total,
+                               100.0 * done / total, done / ((System.nanoTime () - start) / 1e9));
+        }
+    } // awaitProgress(ForkJoinPool,AtomicLong,long) method
+    
+    
+    /**
+     * This method simulates many colonies at the same time and records their statistics.
+     * The seed of each colony comes from the seed of the given settings, so the results never depend on
+     * how many threads are used.
+     * 
+     * @param base The settings that every colony is simulated with.
+     * @param colonies The number of colonies.
+     * @param frames The number of frames to simulate each colony for.
+     * @param interval The number of frames between samples.
+     * @param threads The number of colonies that are simulated at the same time.
+     * @param progress The counter of frames simulated so far by every colony.
+     * @return The statistics of every colony, indexed by colony, then by sample and then by statistic.
+     * @throw InterruptedException If the thread is interrupted while waiting for the colonies.
+     * @throw ExecutionException If one of the colonies fails.
+     */
+    public static double[][][] run (SimulationConfig base, int colonies, int frames, int interval, int threads,
+                                    AtomicLong progress) throws InterruptedException, ExecutionException
+    {
+        // Loop to give each colony its own settings and seed
+        SplittableRandom seeds = new SplittableRandom (base.getSeed ());
+        List<Callable<double[][]>> tasks = new ArrayList<> ();
+        for (int r = 0; r < colonies; r++)
+        {
+            SimulationConfig config = new SimulationConfig (base);
+            config.setSeed (seeds.nextLong ());
+            config.setThreads (0); // Each colony runs on one thread, and the colonies share the cores
+            tasks.add (() -> runColony (config, frames, interval, progress));
+        }
+        
+        // Run the colonies on a work-stealing pool, reporting progress while they run
+        ForkJoinPool pool = new ForkJoinPool (threads);
+        try
+        {
+            List<Future<double[][]>> futures = new ArrayList<> ();
+            for (int r = 0; r < colonies; r++)
+            {
+                futures.add (pool.submit (tasks.get (r)));
+            }
+            
+            awaitProgress (pool, progress, (long) colonies * frames);
+            double[][][] results = new double[colonies][][];
+            for (int r = 0; r < colonies; r++)
+            {
+                results[r] = futures.get (r).get ();
+            }
+            return results;
+        }
+        finally
+        {
+            pool.shutdown ();
+        }
+    } // run(SimulationConfig,int,int,int,int,AtomicLong) method
+    
+    
+    /**
+     * This method writes the mean and 95% confidence interval of every statistic at every sample as a CSV table.
+     * Missing statistics, such as the average traits of a colony that died out, are left out.
+     * 
+     * @param results The statistics of every colony, as returned by <code>run</code>.
+     * @param interval The number of frames between samples.
+     * @param out The stream that the table is written to.
+     */
+    public static void summarize (double[][][] results, int interval, PrintStream out)
+    {
+        // Write the header
+        StringBuilder line = new StringBuilder ("frame");
+        for (String stat : STATS)
+        {
+            line.append (',').append (stat).append ("_mean,").append (stat).append ("_low,").append (stat).append ("_high,")
+                .append (stat).append ("_n");
+        }
+        out.println (line);
+        
+        // Loop through the samples, writing one row per sample
+        int samples = (results.length == 0) ? 0 : results[0].length;
+        for (int t = 0; t < samples; t++)
+        {
+            line.setLength (0);
+            line.append ((long) (t + 1) * interval);
+            for (int s = 0; s < STATS.length; s++)
+            {
+                // Add up the values and their squares to find the mean and the standard deviation
+                int n = 0;
+                double sum = 0, sumSquares = 0;
+                for (int r = 0; r < results.length; r++)
+                {
+                    double value = results[r][t][s];
+                    if (!Double.isNaN (value))
+                    {
+                        n++;
+                        sum += value;
+                        sumSquares += value * value;
+                    }
+                }
+                
+                double mean = sum / n; // NaN if every colony is missing the statistic
+                double variance = (n > 1) ? Math.max (0, (sumSquares - sum * mean) / (n - 1)) : Double.NaN;
+                double margin = 1.96 * Math.sqrt (variance / n); // 95% of the normal distribution is within 1.96 deviations
+                line.append (',').append (mean).append (',').append (mean - margin).append (',').append (mean + margin)
+                    .append (',').append (n);
+            }
+            out.println (line);
+        }
+    } // summarize(double[][][],int,PrintStream) method
+    
+    
+    /**
+     * This method simulates an ensemble of colonies with the settings given on the command line
+     * and writes the summary table to the standard output.
+     * 
+     * @param args The number of colonies and the number of frames, optionally followed by the number of frames between
+     *             samples, the number of threads and the seed.
+     * @throw InterruptedException If the program is interrupted while waiting for the colonies.
+     * @throw ExecutionException If one of the colonies fails.
+     */
+    public static void main (String[] args) throws InterruptedException, ExecutionException
+    {
+        if (args.length < 2 || args.length > 5)
+        {
+            System.err.println ("Usage: java EnsembleSimulation colonies frames [interval [threads [seed]]]");
+            System.exit (1);
+        }
+        
+        // Read the settings
+        int colonies = Integer.parseInt (args[0]);
+        int frames = Integer.parseInt (args[1]);
+        int interval = (args.length >= 3) ? Integer.parseInt (args[2]) : 100;
+        int threads = (args.length >= 4) ? Integer.parseInt (args[3]) : Runtime.getRuntime ().availableProcessors ();
+        SimulationConfig config = new SimulationConfig ();
+        if (args.length == 5)
+        {
+            config.setSeed (Long.parseLong (args[4]));
+        }
+        System.err.println ("Seed: " + config.getSeed ()); // So that an interesting ensemble can be repeated
+        
+        double[][][] results = run (config, colonies, frames, interval, threads, new AtomicLong ());
+        summarize (results, interval, System.out);
+    } // main(String[]) method
+} // EnsembleSimulation class
@@ -1,4 +1,5 @@
 import java.awt.*;
+import java.awt.image.BufferedImage;
 
 /**
  * An Object that represents a piece of food that pigeons can eat.
@@ -9,6 +10,23 @@ import java.awt.*;
  */
 public class Food
 {
+    /**
+     * The colour of every piece of food.
+     */
+    public static final Color BROWN = new Color (150, 75, 0);
+    
+    /**
+     * The width and height of the square that a piece of food is drawn inside, in pixels.
+     */
+    public static final int SPRITE_SIZE = 11;
+    
+    /**
+     * The pixels that a piece of food covers, or <code>null</code> if they haven't been needed yet.
+     * 
+     * @see sprite()
+     */
+    private static boolean[] sprite;
+    
     /**
      * The x-coordinate of the top-left corner of the piece of food.
      */
@@ -63,7 +81,46 @@ public class Food
      */
     public void display (Graphics g)
     {
-        g.setColor (new Color (150, 75, 0)); // Brown colour
-        g.fillOval (x, y, 10, 10);
+        display (g, x, y);
     } // display(Graphics) method
+    
+    
+    /**
+     * This method displays a piece of food at a given location using a given Graphics.
+     * 
+     * @param g The Graphics that will display stuff.
+     * @param x The x-coordinate of the top-left corner of the piece of food.
+     * @param y The y-coordinate of the top-left corner of the piece of food.
+     */
+    public static void display (Graphics g, int x, int y)
+    {
+        g.setColor (BROWN);
+        g.fillOval (x, y, 10, 10);
+    } // display(Graphics,int,int) method
+    
+    
+    /**
+     * This method calculates which pixels a piece of food covers, relative to its top-left corner.
+     * The pixels are found by drawing the piece of food once, so that they match <code>display</code> exactly.
+     * 
+     * @return A square of <code>SPRITE_SIZE</code> by <code>SPRITE_SIZE</code> pixels, row by row,
+     *         that are <code>true</code> where the piece of food is drawn.
+     */
+    public static synchronized boolean[] sprite ()
+    {
+        if (sprite == null)
+        {
+            BufferedImage image = new BufferedImage (SPRITE_SIZE, SPRITE_SIZE, BufferedImage.TYPE_INT_ARGB);
+            Graphics g = image.getGraphics ();
+            display (g, 0, 0);
+            g.dispose ();
+            
+            sprite = new boolean[SPRITE_SIZE * SPRITE_SIZE];
+            for (int k = 0; k < sprite.length; k++)
+            {
+                sprite[k] = image.getRGB (k % SPRITE_SIZE, k / SPRITE_SIZE) != 0; // Drawn pixels are not transparent
+            }
+        }
+        return sprite;
+    } // sprite() method
 } // Food class
@@ -0,0 +1,239 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * An index of all the food in the world that is sorted into narrow vertical strips by x-coordinate.
+ * Food only ever appears in the food region at the bottom of the world, which is much wider than it is tall,
+ * so sorting the food by x-coordinate alone is enough to find the food near a pigeon quickly.
+ * Food is referred to by its slot in a FoodStore.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class FoodIndex
+{
+    /**
+     * The width of each strip, in pixels.
+     */
+    private static final int WIDTH = 5;
+    
+    /**
+     * The y-coordinate of the top of the food region.
+     */
+    private static final int TOP = 560;
+    
+    /**
+     * The y-coordinate of the bottom of the food region.
+     */
+    private static final int BOTTOM = 630;
+    
+    /**
+     * The store that holds the coordinates of the food.
+     */
+    private final FoodStore foods;
+    
+    /**
+     * The slots of the food inside each strip, from left to right.
+     * Only the first <code>counts[b]</code> entries of strip <code>b</code> are used.
+     */
+    private int[][] buckets;
+    
+    /**
+     * The number of pieces of food inside each strip.
+     */
+    private int[] counts;
+    
+    /**
+     * The position of each slot inside its strip, so that food can be removed without searching the strip.
+     */
+    private int[] pos;
+    
+    /**
+     * The number of pieces of food in the index.
+     */
+    private int size;
+    
+    
+    /**
+     * This constructor method creates a new empty index for food in a region of a given width.
+     * 
+     * @param width The width of the food region, in pixels.
+     * @param foods1 The store that holds the coordinates of the food.
+     */
+    public FoodIndex (int width, FoodStore foods1)
+    {
+        foods = foods1;
+        buckets = new int[(width + WIDTH - 1) / WIDTH][8];
+        counts = new int[buckets.length];
+        pos = new int[0];
+        size = 0;
+    } // FoodIndex(int,FoodStore) constructor
+    
+    
+    /**
+     * This method returns the strip that contains a given x-coordinate.
+     * 
+     * @param x The given x-coordinate.
+     * @return The index of the strip, clamped to the index.
+     */
+    private int bucket (double x)
+    {
+        return Math.max (0, Math.min (buckets.length - 1, (int) Math.floor (x / WIDTH)));
+    } // bucket(double) method
+    
+    
+    /**
+     * This method calculates the number of pieces of food in the index.
+     * 
+     * @return The number of pieces of food in the index.
+     */
+    public int size ()
+    {
+        return size;
+    } // size() method
+    
+    
+    /**
+     * This method removes every piece of food from the index.
+     * 
+     * @param capacity The number of slots in the store.
+     */
+    public void clear (int capacity)
+    {
+        Arrays.fill (counts, 0);
+        pos = new int[capacity];
+        size = 0;
+    } // clear(int) method
+    
+    
+    /**
+     * This method adds a piece of food to the index.
+     * 
+     * @param slot The slot of the piece of food to be added.
+     */
+    public void add (int slot)
+    {
+        if (slot >= pos.length)
+        {
+            pos = Arrays.copyOf (pos, Math.max (slot + 1, pos.length * 2));
+        }
+        
+        int b = bucket (foods.getX (slot));
+        if (counts[b] == buckets[b].length)
+        {
+            buckets[b] = Arrays.copyOf (buckets[b], counts[b] * 2);
+        }
+        pos[slot] = counts[b];
+        buckets[b][counts[b]++] = slot;
+        size++;
+    } // add(int) method
+    
+    
+    /**
+     * This method removes a piece of food from the index.
+     * The piece of food must be in the index.
+     * 
+     * @param slot The slot of the piece of food to be removed.
+     */
+    public void remove (int slot)
+    {
+        int b = bucket (foods.getX (slot));
+        
+        // Fill the gap with the last piece of food, since searches compare the ages of the food instead of using this order
+        int last = buckets[b][--counts[b]];
+        buckets[b][pos[slot]] = last;
+        pos[last] = pos[slot];
+        size--;
+    } // remove(int) method
+    
+    
+    /**
+     * This method finds the closest piece of food to a given location that a pigeon would feel safe going to.
+     * Strips are searched outwards from the location until no farther strip could contain closer food.
+     * If several pieces of food are equally close, the oldest one is chosen.
+     * 
+     * @param x The x-coordinate of the given location.
+     * @param y The y-coordinate of the given location.
+     * @param predators The list of all predators in the world.
+     * @param safety The distance at which a pigeon feels safe from a predator, in pixels.
+     * @return The slot of the closest safe piece of food, or -1 if there is none.
+     * @see Pigeon.isSafe(ArrayList<Predator>,double,double,double)
+     */
+    public int nearestSafe (double x, double y, ArrayList<Predator> predators, double safety)
+    {
+        int center = bucket (x);
+        double above = Math.max (0, Math.max (TOP - y, y - BOTTOM)); // Vertical distance to the food region
+        
+        int closest = -1;
+        double minDist = 1e99;
+        
+        // Loop through strips in order of increasing horizontal distance
+        for (int k = 0; k < buckets.length; k++)
+        {
+            double reach = Math.max (above, (k - 1) * WIDTH); // All food this many strips away is at least this far
+            if (minDist < reach || (center - k < 0 && center + k >= buckets.length))
+            {
+                break; // Nothing farther away could be as close
+            }
+            
+            for (int side = -1; side <= 1; side += 2)
+            {
+                int b = center + side * k;
+                if (b < 0 || b >= buckets.length || (k == 0 && side == 1))
+                {
+                    continue; // Strip does not exist or was already searched
+                }
+                
+                for (int i = 0; i < counts[b]; i++)
+                {
+                    int food = buckets[b][i];
+                    double fx = foods.getX (food);
+                    double fy = foods.getY (food);
+                    double dist = Math.sqrt ((x - fx) * (x - fx) + (y - fy) * (y - fy));
+                    if ((dist < minDist || (dist == minDist && foods.position (food) < foods.position (closest)))
+                        && Pigeon.isSafe (predators, fx, fy, safety)) // Closer (or as close but older) food that is safe
+                    {
+                        minDist = dist;
+                        closest = food;
+                    }
+                }
+            }
+        }
+        return closest;
+    } // nearestSafe(double,double,ArrayList<Predator>,double) method
+    
+    
+    /**
+     * This method finds the oldest piece of food that a pigeon at a given location is touching.
+     * Each piece of food is 10 by 10, and each pigeon is 5 by 5.
+     * 
+     * @param x The x-coordinate of the top left corner of the pigeon.
+     * @param y The y-coordinate of the top left corner of the pigeon.
+     * @return The slot of the oldest piece of food that the pigeon is touching, or -1 if there is none.
+     */
+    public int foodUnder (double x, double y)
+    {
+        int oldest = -1;
+        
+        // Loop through the strips that the pigeon overlaps
+        for (int b = bucket (x - 10); b <= bucket (x + 5); b++)
+        {
+            for (int i = 0; i < counts[b]; i++)
+            {
+                int food = buckets[b][i];
+                int fx = foods.getX (food);
+                int fy = foods.getY (food);
+                
+                // Check if pigeon coincides with food
+                if (x < fx + 10 && x + 5 > fx && y < fy + 10 && y + 5 > fy
+                    && (oldest == -1 || foods.position (food) < foods.position (oldest)))
+                {
+                    oldest = food;
+                }
+            }
+        }
+        return oldest; // -1 if no food here
+    } // foodUnder(double,double) method
+} // FoodIndex class
@@ -0,0 +1,265 @@
+/**
+ * A store of all the food in the world, kept in the order that it was placed.
+ * The food is stored in a ring buffer of coordinates, so placing new food and removing the oldest food never have to
+ * shift the rest of the food. Food that gets eaten is only marked as eaten and is skipped until it becomes the oldest.
+ * 
+ * Each piece of food is identified by its slot in the buffer, which stays the same until the food is removed,
+ * unless the buffer has to grow.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class FoodStore
+{
+    /**
+     * The x-coordinate of the top-left corner of the food in each slot.
+     */
+    private int[] xs;
+    
+    /**
+     * The y-coordinate of the top-left corner of the food in each slot.
+     */
+    private int[] ys;
+    
+    /**
+     * Whether or not the food in each slot has been eaten.
+     */
+    private boolean[] eaten;
+    
+    /**
+     * The slot of the oldest food, eaten or not.
+     */
+    private int head;
+    
+    /**
+     * The number of slots in use, starting from <code>head</code>, including the slots of eaten food.
+     */
+    private int span;
+    
+    /**
+     * The number of pieces of food that have not been eaten.
+     */
+    private int size;
+    
+    /**
+     * The index that sorts the uneaten food by location.
+     */
+    private FoodIndex index;
+    
+    
+    /**
+     * This constructor method creates a new empty store for food in a region of a given width.
+     * 
+     * @param width The width of the food region, in pixels.
+     */
+    public FoodStore (int width)
+    {
+        xs = new int[256];
+        ys = new int[256];
+        eaten = new boolean[256];
+        head = span = size = 0;
+        index = new FoodIndex (width, this);
+    } // FoodStore(int) constructor
+    
+    
+    /**
+     * This accessor method returns the index that sorts the food by location.
+     * 
+     * @return The value of the <code>index</code> field.
+     * @see index
+     */
+    public FoodIndex getIndex ()
+    {
+        return index;
+    } // getIndex() method
+    
+    
+    /**
+     * This method calculates the number of pieces of food in the world.
+     * 
+     * @return The number of pieces of food that have not been eaten.
+     */
+    public int size ()
+    {
+        return size;
+    } // size() method
+    
+    
+    /**
+     * This method calculates the number of slots in use, including the slots of eaten food.
+     * 
+     * @return The number of slots in use.
+     * @see slotAt(int)
+     */
+    public int span ()
+    {
+        return span;
+    } // span() method
+    
+    
+    /**
+     * This method returns the slot of the food that was placed after a given number of older slots.
+     * 
+     * @param k The number of older slots, from 0 to <code>span () - 1</code>.
+     * @return The required slot.
+     */
+    public int slotAt (int k)
+    {
+        return (head + k) % xs.length;
+    } // slotAt(int) method
+    
+    
+    /**
+     * This method calculates the number of slots in use that are older than a given slot.
+     * Food with fewer older slots was placed earlier.
+     * 
+     * @param slot The slot of the food.
+     * @return The number of older slots, from 0 to <code>span () - 1</code>.
+     * @see slotAt(int)
+     */
+    public int position (int slot)
+    {
+        return (slot - head + xs.length) % xs.length;
+    } // position(int) method
+    
+    
+    /**
+     * This accessor method returns the x-coordinate of the food in a given slot.
+     * 
+     * @param slot The slot of the food.
+     * @return The x-coordinate of the top-left corner of the food.
+     */
+    public int getX (int slot)
+    {
+        return xs[slot];
+    } // getX(int) method
+    
+    
+    /**
+     * This accessor method returns the y-coordinate of the food in a given slot.
+     * 
+     * @param slot The slot of the food.
+     * @return The y-coordinate of the top-left corner of the food.
+     */
+    public int getY (int slot)
+    {
+        return ys[slot];
+    } // getY(int) method
+    
+    
+    /**
+     * This method determines whether or not the food in a given slot has been eaten.
+     * 
+     * @param slot The slot of the food.
+     * @return <code>true</code> if and only if the food has been eaten.
+     */
+    public boolean isEaten (int slot)
+    {
+        return eaten[slot];
+    } // isEaten(int) method
+    
+    
+    /**
+     * This method places a new piece of food in the world.
+     * 
+     * @param x The x-coordinate of the top-left corner of the food.
+     * @param y The y-coordinate of the top-left corner of the food.
+     * @return The slot of the new food.
+     */
+    public int add (int x, int y)
+    {
+        if (span == xs.length)
+        {
+            grow ();
+        }
+        
+        int slot = slotAt (span);
+        xs[slot] = x;
+        ys[slot] = y;
+        eaten[slot] = false;
+        span++;
+        size++;
+        index.add (slot);
+        return slot;
+    } // add(int,int) method
+    
+    
+    /**
+     * This method marks the food in a given slot as eaten.
+     * This method does nothing if the food has already been eaten.
+     * Pigeons in different tiles of the world can eat food at the same time, so only one can update the store at once.
+     * 
+     * @param slot The slot of the food.
+     */
+    public synchronized void eat (int slot)
+    {
+        if (!eaten[slot])
+        {
+            eaten[slot] = true;
+            size--;
+            index.remove (slot);
+            trim ();
+        }
+    } // eat(int) method
+    
+    
+    /**
+     * This method removes the oldest piece of food that has not been eaten.
+     * This method does nothing if there is no food.
+     */
+    public void removeOldest ()
+    {
+        trim ();
+        if (span > 0)
+        {
+            eat (head);
+        }
+    } // removeOldest() method
+    
+    
+    /**
+     * This method frees the slots of eaten food at the old end of the buffer.
+     */
+    private void trim ()
+    {
+        while (span > 0 && eaten[head])
+        {
+            head = (head + 1) % xs.length;
+            span--;
+        }
+    } // trim() method
+    
+    
+    /**
+     * This method doubles the size of the buffer, moving the oldest food to the first slot.
+     * Since every slot changes, the index is rebuilt.
+     */
+    private void grow ()
+    {
+        int[] xs1 = new int[xs.length * 2];
+        int[] ys1 = new int[xs.length * 2];
+        boolean[] eaten1 = new boolean[xs.length * 2];
+        for (int k = 0; k < span; k++)
+        {
+            xs1[k] = xs[slotAt (k)];
+            ys1[k] = ys[slotAt (k)];
+            eaten1[k] = eaten[slotAt (k)];
+        }
+        xs = xs1;
+        ys = ys1;
+        eaten = eaten1;
+        head = 0;
+        
+        // Loop to put the food back into the index under its new slots
+        index.clear (xs.length);
+        for (int slot = 0; slot < span; slot++)
+        {
+            if (!eaten[slot])
+            {
+                index.add (slot);
+            }
+        }
+    } // grow() method
+} // FoodStore class
@@ -0,0 +1,17 @@
+/**
+ * An interface for Objects that want to be told whenever a colony finishes simulating a frame.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public interface FrameListener
+{
+    /**
+     * This method activates whenever a colony finishes simulating a frame.
+     * 
+     * @param colony The colony that has just been simulated.
+     */
+    void frameSimulated (Colony colony);
+} // FrameListener interface
@@ -0,0 +1,251 @@
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A clock that tells the simulation when to simulate its next frames at a fixed rate, without keeping a core busy.
+ * The simulation thread sleeps until the next frame is due. If the simulation falls behind, several frames are due
+ * at once, so that the world keeps moving at the chosen rate even when drawing is slow; if it falls too far behind,
+ * the frames it missed are dropped instead of being rushed through all at once.
+ * While the scheduler is paused, the simulation thread waits without using the processor at all.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class FrameScheduler
+{
+    /**
+     * The largest number of frames that are simulated at once to catch up after falling behind.
+     */
+    public static final int MAX_CATCH_UP = 5;
+    
+    /**
+     * The time between frames, in nanoseconds, or 0 if frames should be simulated as fast as possible.
+     */
+    private long period;
+    
+    /**
+     * The time at which the next frame is due, according to <code>System.nanoTime</code>.
+     */
+    private long next;
+    
+    /**
+     * Whether or not frames are being scheduled, as opposed to being paused.
+     */
+    private boolean running;
+    
+    /**
+     * The total number of frames that were dropped because the simulation fell too far behind.
+     */
+    private long dropped;
+    
+    /**
+     * Whether or not a new snapshot should be drawn even though no frames are due.
+     */
+    private boolean redraw;
+    
+    /**
+     * The simulation thread while it is sleeping until the next frame is due, or <code>null</code> if it is not sleeping.
+     * Changing the rate or pausing wakes it up, so that the change takes effect right away.
+     */
+    private Thread sleeper;
+    
+    
+    /**
+     * This constructor method creates a new paused scheduler with a given number of frames per second.
+     * 
+     * @param rate The number of frames per second, or 0 for as fast as possible.
+     * @throw IllegalArgumentException If the rate is negative.
+     */
+    public FrameScheduler (int rate)
+    {
+        running = false;
+        dropped = 0;
+        redraw = false;
+        sleeper = null;
+        setRate (rate);
+    } // FrameScheduler(int) constructor
+    
+    
+    /**
+     * This method changes the number of frames per second.
+     * The next frame is due one new period from now, so changing the rate never causes a burst of frames.
+     * If the simulation thread is sleeping until the next frame under the old rate, it is woken up.
+     * 
+     * @param rate The new number of frames per second, or 0 for as fast as possible.
+     * @throw IllegalArgumentException If the rate is negative.
+     */
+    public synchronized void setRate (int rate)
+    {
+        if (rate < 0)
+        {
+            throw new IllegalArgumentException ("The frame rate cannot be negative.");
+        }
+        long period1 = (rate == 0) ? 0 : 1000000000L / rate;
+        if (period1 != period)
+        {
+            period = period1;
+            next = System.nanoTime () + period;
+            wakeSleeper ();
+        }
+    } // setRate(int) method
+    
+    
+    /**
+     * This method determines whether or not frames are being scheduled.
+     * 
+     * @return The value of the <code>running</code> field.
+     * @see running
+     */
+    public synchronized boolean isRunning ()
+    {
+        return running;
+    } // isRunning() method
+    
+    
+    /**
+     * This accessor method returns the total number of frames that were dropped because the simulation fell behind.
+     * 
+     * @return The value of the <code>dropped</code> field.
+     * @see dropped
+     */
+    public synchronized long getDropped ()
+    {
+        return dropped;
+    } // getDropped() method
+    
+    
+    /**
+     * This method starts scheduling frames, waking up the simulation thread if it is waiting.
+     * The first frame is due right away.
+     */
+    public synchronized void resume ()
+    {
+        if (!running)
+        {
+            running = true;
+            next = System.nanoTime (); // Time spent paused is not owed as frames
+            notifyAll ();
+        }
+    } // resume() method
+    
+    
+    /**
+     * This method stops scheduling frames. The simulation thread waits in <code>awaitFrames</code> until
+     * the scheduler is resumed, and is woken up if it is sleeping until the next frame.
+     */
+    public synchronized void pause ()
+    {
+        running = false;
+        wakeSleeper ();
+    } // pause() method
+    
+    
+    /**
+     * This method wakes up the simulation thread if it is sleeping until the next frame is due.
+     */
+    private void wakeSleeper ()
+    {
+        if (sleeper != null)
+        {
+            LockSupport.unpark (sleeper);
+        }
+    } // wakeSleeper() method
+    
+    
+    /**
+     * This method asks for the world to be drawn again, waking up the simulation thread if it is waiting.
+     * While the scheduler is running, the next frame is drawn anyway, so this does nothing.
+     */
+    public synchronized void requestRedraw ()
+    {
+        redraw = true;
+        notifyAll ();
+    } // requestRedraw() method
+    
+    
+    /**
+     * This method waits until at least one frame is due, and then calculates how many frames should be simulated.
+     * While the scheduler is paused, it also stops waiting when a redraw is asked for.
+     * 
+     * @return The number of frames to simulate right now, from 1 to <code>MAX_CATCH_UP</code>,
+     *         or 0 if the world only needs to be drawn again, including when the scheduler was paused while sleeping.
+     * @throw InterruptedException If the thread is interrupted while waiting.
+     */
+    public int awaitFrames () throws InterruptedException
+    {
+        long due;
+        synchronized (this)
+        {
+            while (!running && !redraw)
+            {
+                wait (); // Blocks without using the processor until resumed
+            }
+            redraw = false;
+            if (!running) // Paused, so draw the world as it is
+            {
+                return 0;
+            }
+            if (period == 0) // As fast as possible
+            {
+                return 1;
+            }
+            due = next;
+            sleeper = Thread.currentThread ();
+        }
+        
+        // Loop to sleep until the frame is due, since parking can wake up early
+        long now = System.nanoTime ();
+        try
+        {
+            while (now < due)
+            {
+                LockSupport.parkNanos (due - now);
+                if (Thread.interrupted ())
+                {
+                    throw new InterruptedException ();
+                }
+                synchronized (this)
+                {
+                    if (!running || next != due) // Woken up by a pause or a new rate
+                    {
+                        break;
+                    }
+                }
+                now = System.nanoTime ();
+            }
+        }
+        finally
+        {
+            synchronized (this)
+            {
+                sleeper = null;
+            }
+        }
+        
+        synchronized (this)
+        {
+            if (!running) // Paused while sleeping, so no frame is due
+            {
+                return 0;
+            }
+            if (period == 0 || next != due) // The rate was changed while sleeping
+            {
+                return 1;
+            }
+            
+            int frames = (int) Math.min ((now - next) / period + 1, Integer.MAX_VALUE); // Every frame that is due by now
+            if (frames > MAX_CATCH_UP) // Too far behind to catch up, so give up on the extra frames
+            {
+                dropped += frames - MAX_CATCH_UP;
+                frames = MAX_CATCH_UP;
+                next = now + period;
+            }
+            else
+            {
+                next += frames * period; // Keep to the fixed timestep
+            }
+            return frames;
+        }
+    } // awaitFrames() method
+} // FrameScheduler class
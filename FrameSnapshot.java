@@ -0,0 +1,362 @@
+import java.awt.Color;
+import java.awt.Graphics;
+import java.util.Arrays;
+
+/**
+ * An unchangeable copy of everything that needs to be drawn for one frame of a colony.
+ * The simulation makes a new snapshot after every frame and hands it over to the window, which only ever draws
+ * the latest snapshot, so drawing never looks at the colony while it is being simulated on another thread.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class FrameSnapshot
+{
+    /**
+     * The age of the colony when the snapshot was taken, in frames.
+     */
+    private final int age;
+    
+    /**
+     * The average amount of food that was being placed each frame when the snapshot was taken.
+     */
+    private final double foodRate;
+    
+    /**
+     * The grid of pigeonholes, which never moves, so it is shared instead of copied.
+     */
+    private final HoleGrid holes;
+    
+    /**
+     * The number of pigeons in the snapshot.
+     */
+    private final int size;
+    
+    /**
+     * The x-coordinate of the top left corner of each pigeon, in pixels.
+     */
+    private final int[] pigeonX;
+    
+    /**
+     * The y-coordinate of the top left corner of each pigeon, in pixels.
+     */
+    private final int[] pigeonY;
+    
+    /**
+     * The gender of each pigeon.
+     */
+    private final byte[] gender;
+    
+    /**
+     * The stat that the pigeons are shaded by, which was chosen when the snapshot was taken.
+     */
+    private final DisplayMode mode;
+    
+    /**
+     * How brightly each pigeon should be drawn in the display mode.
+     * Heatmap modes keep how full each pigeon is instead, as a level of <code>DisplayMode.FULLNESS</code>.
+     * 
+     * @see DisplayMode.level(PigeonStore,int)
+     */
+    private final byte[] levels;
+    
+    /**
+     * Whether or not each pigeon has a disease, or <code>null</code> if the display mode is not a heatmap.
+     */
+    private final boolean[] sick;
+    
+    /**
+     * The x-coordinate of the top-left corner of each piece of food.
+     */
+    private final int[] foodX;
+    
+    /**
+     * The y-coordinate of the top-left corner of each piece of food.
+     */
+    private final int[] foodY;
+    
+    /**
+     * The x-coordinate of the top-left corner of each predator.
+     */
+    private final int[] predatorX;
+    
+    /**
+     * The y-coordinate of the top-left corner of each predator.
+     */
+    private final int[] predatorY;
+    
+    
+    /**
+     * This constructor method creates a snapshot out of arrays that nothing else will change afterwards.
+     * The arrays are kept rather than copied.
+     * 
+     * @param age1 The age of the colony, in frames.
+     * @param foodRate1 The average amount of food being placed each frame.
+     * @param holes1 The grid of pigeonholes.
+     * @param size1 The number of pigeons.
+     * @param pigeonX1 The x-coordinate of each pigeon.
+     * @param pigeonY1 The y-coordinate of each pigeon.
+     * @param gender1 The gender of each pigeon.
+     * @param mode1 The stat that the pigeons are shaded by.
+     * @param levels1 How brightly each pigeon should be drawn, or how full it is if the mode is a heatmap.
+     * @param sick1 Whether or not each pigeon has a disease, or <code>null</code> if the mode is not a heatmap.
+     * @param foodX1 The x-coordinate of each piece of food.
+     * @param foodY1 The y-coordinate of each piece of food.
+     * @param predatorX1 The x-coordinate of each predator.
+     * @param predatorY1 The y-coordinate of each predator.
+     */
+    public FrameSnapshot (int age1, double foodRate1, HoleGrid holes1, int size1, int[] pigeonX1, int[] pigeonY1,
+                          byte[] gender1, DisplayMode mode1, byte[] levels1, boolean[] sick1, int[] foodX1,
+                          int[] foodY1, int[] predatorX1, int[] predatorY1)
+    {
+        age = age1;
+        foodRate = foodRate1;
+        holes = holes1;
+        size = size1;
+        pigeonX = pigeonX1;
+        pigeonY = pigeonY1;
+        gender = gender1;
+        mode = mode1;
+        levels = levels1;
+        sick = sick1;
+        foodX = foodX1;
+        foodY = foodY1;
+        predatorX = predatorX1;
+        predatorY = predatorY1;
+    } // FrameSnapshot(int,double,HoleGrid,int,int[],int[],byte[],DisplayMode,byte[],boolean[],int[],int[],int[],int[]) constructor
+    
+    
+    /**
+     * This accessor method returns the age of the colony when the snapshot was taken.
+     * 
+     * @return The value of the <code>age</code> field.
+     * @see age
+     */
+    public int getAge ()
+    {
+        return age;
+    } // getAge() method
+    
+    
+    /**
+     * This accessor method returns the average amount of food that was being placed each frame.
+     * 
+     * @return The value of the <code>foodRate</code> field.
+     * @see foodRate
+     */
+    public double getFoodRate ()
+    {
+        return foodRate;
+    } // getFoodRate() method
+    
+    
+    /**
+     * This accessor method returns the grid of pigeonholes.
+     * The same grid is shared by every snapshot of a colony, so a new grid means that the layout of the world changed.
+     * 
+     * @return The value of the <code>holes</code> field.
+     * @see holes
+     */
+    public HoleGrid getHoles ()
+    {
+        return holes;
+    } // getHoles() method
+    
+    
+    /**
+     * This accessor method returns the stat that the pigeons are shaded by.
+     * 
+     * @return The value of the <code>mode</code> field.
+     * @see mode
+     */
+    public DisplayMode getMode ()
+    {
+        return mode;
+    } // getMode() method
+    
+    
+    /**
+     * This method calculates the number of pigeons in the snapshot.
+     * 
+     * @return The number of pigeons in the snapshot.
+     */
+    public int size ()
+    {
+        return size;
+    } // size() method
+    
+    
+    /**
+     * This method displays everything in the snapshot using a given Graphics.
+     * 
+     * @param g The Graphics that will draw stuff.
+     */
+    public void display (Graphics g)
+    {
+        displayBackground (g);
+        displayMoving (g);
+    } // display(Graphics) method
+    
+    
+    /**
+     * This method displays the parts of the snapshot that never change, which are the pigeonholes.
+     * 
+     * @param g The Graphics that will draw stuff.
+     */
+    public void displayBackground (Graphics g)
+    {
+        for (int i = 0; i < holes.size (); i++)
+        {
+            holes.get (i).display (g); // Only draws the pigeonhole's position, which never changes
+        }
+    } // displayBackground(Graphics) method
+    
+    
+    /**
+     * This method displays the parts of the snapshot that change from frame to frame, which are the food,
+     * the pigeons and the predators.
+     * 
+     * @param g The Graphics that will draw stuff.
+     */
+    public void displayMoving (Graphics g)
+    {
+        // Loop to display stuff
+        for (int k = 0; k < foodX.length; k++)
+        {
+            Food.display (g, foodX[k], foodY[k]);
+        }
+        if (mode.isHeatmap ())
+        {
+            DensityGrid grid = DensityGrid.build (this, 640, 640); // The world is 640 by 640
+            for (int c = 0; c < grid.getCols () * grid.getRows (); c++)
+            {
+                int rgb = grid.rgb (c, mode);
+                if (rgb != -1) // Only cells with pigeons in them are drawn
+                {
+                    g.setColor (new Color (rgb));
+                    g.fillRect (c % grid.getCols () * DensityGrid.CELL, c / grid.getCols () * DensityGrid.CELL,
+                                DensityGrid.CELL, DensityGrid.CELL);
+                }
+            }
+        }
+        else
+        {
+            for (int i = 0; i < size; i++)
+            {
+                Pigeon.display (g, pigeonX[i], pigeonY[i], Pigeon.PALETTE[gender[i]][levels[i] & 0xFF]);
+            }
+        }
+        for (int i = 0; i < predatorX.length; i++)
+        {
+            Predator.display (g, predatorX[i], predatorY[i]);
+        }
+    } // displayMoving(Graphics) method
+    
+    
+    /**
+     * This method draws the parts of the snapshot that change from frame to frame straight into the pixels of an image,
+     * but only inside a band of rows, so that different bands can be drawn at the same time.
+     * Everything is drawn in the same order and with the same pixels as <code>displayMoving(Graphics)</code>.
+     * 
+     * @param pixels The pixels of the image, row by row, as <code>0xRRGGBB</code>.
+     * @param width The width of the image, in pixels.
+     * @param top The first row of the band.
+     * @param bottom The row after the last row of the band.
+     * @param grid The pigeons counted into cells, if the mode is a heatmap.
+     * @see DensityGrid.build(FrameSnapshot,int,int)
+     */
+    public void displayMoving (int[] pixels, int width, int top, int bottom, DensityGrid grid)
+    {
+        // Loop to draw the food that reaches into the band
+        boolean[] sprite = Food.sprite ();
+        int brown = Food.BROWN.getRGB () & 0xFFFFFF;
+        for (int k = 0; k < foodX.length; k++)
+        {
+            if (foodY[k] + Food.SPRITE_SIZE > top && foodY[k] < bottom)
+            {
+                for (int row = Math.max (top, foodY[k]); row < Math.min (bottom, foodY[k] + Food.SPRITE_SIZE); row++)
+                {
+                    for (int col = Math.max (0, foodX[k]); col < Math.min (width, foodX[k] + Food.SPRITE_SIZE); col++)
+                    {
+                        if (sprite[(row - foodY[k]) * Food.SPRITE_SIZE + col - foodX[k]])
+                        {
+                            pixels[row * width + col] = brown;
+                        }
+                    }
+                }
+            }
+        }
+        
+        if (mode.isHeatmap ())
+        {
+            // Loop through the rows of cells that reach into the band
+            int last = Math.min (grid.getRows (), (bottom + DensityGrid.CELL - 1) / DensityGrid.CELL);
+            for (int row = top / DensityGrid.CELL; row < last; row++)
+            {
+                for (int col = 0; col < grid.getCols (); col++)
+                {
+                    int rgb = grid.rgb (row * grid.getCols () + col, mode);
+                    if (rgb != -1) // Only cells with pigeons in them are drawn
+                    {
+                        fill (pixels, width, top, bottom, col * DensityGrid.CELL, row * DensityGrid.CELL, DensityGrid.CELL, rgb);
+                    }
+                }
+            }
+        }
+        else
+        {
+            for (int i = 0; i < size; i++)
+            {
+                if (pigeonY[i] + 5 > top && pigeonY[i] < bottom) // Only look up the colour of pigeons in the band
+                {
+                    fill (pixels, width, top, bottom, pigeonX[i], pigeonY[i], 5, Pigeon.PALETTE[gender[i]][levels[i] & 0xFF]);
+                }
+            }
+        }
+        int orange = Predator.ORANGE.getRGB () & 0xFFFFFF;
+        for (int i = 0; i < predatorX.length; i++)
+        {
+            fill (pixels, width, top, bottom, predatorX[i], predatorY[i], 10, orange);
+        }
+    } // displayMoving(int[],int,int,int,DensityGrid) method
+    
+    
+    /**
+     * This method counts a range of the pigeons in the snapshot into a grid.
+     * 
+     * @param grid The grid that the pigeons are counted into.
+     * @param from The index of the first pigeon in the range.
+     * @param to The index after the last pigeon in the range.
+     */
+    public void count (DensityGrid grid, int from, int to)
+    {
+        for (int i = from; i < to; i++)
+        {
+            grid.add (pigeonX[i] + 2, pigeonY[i] + 2, gender[i], sick[i], levels[i] & 0xFF); // Count by the centre of the pigeon
+        }
+    } // count(DensityGrid,int,int) method
+    
+    
+    /**
+     * This method fills a square with a colour inside a band of rows of an image.
+     * 
+     * @param pixels The pixels of the image, row by row.
+     * @param width The width of the image, in pixels.
+     * @param top The first row of the band.
+     * @param bottom The row after the last row of the band.
+     * @param x The x-coordinate of the top-left corner of the square.
+     * @param y The y-coordinate of the top-left corner of the square.
+     * @param side The width and height of the square.
+     * @param rgb The colour of the square, as <code>0xRRGGBB</code>.
+     */
+    private static void fill (int[] pixels, int width, int top, int bottom, int x, int y, int side, int rgb)
+    {
+        int left = Math.max (0, x), right = Math.min (width, x + side);
+        for (int row = Math.max (top, y); row < Math.min (bottom, y + side); row++)
+        {
+            Arrays.fill (pixels, row * width + left, row * width + Math.max (left, right), rgb);
+        }
+    } // fill(int[],int,int,int,int,int,int,int) method
+} // FrameSnapshot class
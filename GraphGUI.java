@@ -1,6 +1,6 @@
 import java.awt.*;
 import java.awt.event.*;
-import java.util.ArrayList;
+import java.awt.image.BufferedImage;
 import javax.swing.*;
 
 /**
@@ -11,15 +11,44 @@ import javax.swing.*;
  */
 public class GraphGUI extends JFrame implements ActionListener
 {
+    /**
+     * The version of the serialized form of this class.
+     */
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * The number of times per second that the graph is redrawn while new stats are being added,
+     * no matter how fast the simulation is running.
+     */
+    public static final int GRAPH_RATE = 10;
+    
+    /**
+     * The names of the stats that can be displayed, in the order they appear in the combo box.
+     */
+    private static final String[] NAMES = {"Population", "Amount of disease", "Amount of old pigeons", "Average speed",
+                                           "Average max HP", "Average power", "Average mutation level", "Average fullness"};
+    
+    /**
+     * The text that follows the value of each stat.
+     * 
+     * @see NAMES
+     */
+    private static final String[] UNITS = {" pigeons", "% of pigeons", "% of pigeons", " pixels per frame", "", "", "", ""};
+    
     /**
      * The window that will display the graph.
      */
     private static GraphGUI window;
     
+    /**
+     * Whether or not stats have been added since the graph was last asked to redraw.
+     */
+    private static volatile boolean changed = false;
+    
     /**
      * The combo box that allows the user to choose which stat to display on the graph.
      */
-    private static JComboBox displayCB;
+    private static JComboBox<String> displayCB;
     
     /**
      * The text field that allows the user to select a horizontal beginning point for the graph.
@@ -63,45 +92,52 @@ public class GraphGUI extends JFrame implements ActionListener
     public static JTextArea zoomLabel = new JTextArea ("Zoom (in frames per pixel): ");
     
     /**
-     * The list of population stats that should be displayed.
+     * The series of population stats that should be displayed.
      */
-    private static ArrayList<Double> populations = new ArrayList<> ();
+    private static TimeSeries populations = new TimeSeries ();
     
     /**
-     * The list of disease stats that should be displayed.
+     * The series of disease stats that should be displayed.
      */
-    private static ArrayList<Double> diseases = new ArrayList<> ();
+    private static TimeSeries diseases = new TimeSeries ();
     
     /**
-     * The list of old pigeon stats that should be displayed.
+     * The series of old pigeon stats that should be displayed.
      */
-    private static ArrayList<Double> olds = new ArrayList<> ();
+    private static TimeSeries olds = new TimeSeries ();
     
     /**
-     * The list of average speed stats that should be displayed.
+     * The series of average speed stats that should be displayed.
      */
-    private static ArrayList<Double> speeds = new ArrayList<> ();
+    private static TimeSeries speeds = new TimeSeries ();
     
     /**
-     * The list of average max HP stats that should be displayed.
+     * The series of average max HP stats that should be displayed.
      */
-    private static ArrayList<Double> maxHPs = new ArrayList<> ();
+    private static TimeSeries maxHPs = new TimeSeries ();
     
     /**
-     * The list of average power stats that should be displayed.
+     * The series of average power stats that should be displayed.
      */
-    private static ArrayList<Double> powers = new ArrayList<> ();
+    private static TimeSeries powers = new TimeSeries ();
     
     /**
-     * The list of average mutation level stats that should be displayed.
+     * The series of average mutation level stats that should be displayed.
      */
-    private static ArrayList<Double> muts = new ArrayList<> ();
+    private static TimeSeries muts = new TimeSeries ();
     
     /**
-     * The list of average fullness stats that should be displayed.
+     * The series of average fullness stats that should be displayed.
      */
-    private static ArrayList<Double> fulls = new ArrayList<> ();
-
+    private static TimeSeries fulls = new TimeSeries ();
+    
+    /**
+     * Every series of stats, in the same order as their names.
+     * 
+     * @see NAMES
+     */
+    private static TimeSeries[] series = {populations, diseases, olds, speeds, maxHPs, powers, muts, fulls};
+    
     
     /**
      * This constructor method creates the GUI that will display the graph.
@@ -109,16 +145,14 @@ public class GraphGUI extends JFrame implements ActionListener
     public GraphGUI ()
     {
         // 1... Create/initialize components
-        displayCB = new JComboBox ();
-        displayCB.addItem ("Population");
-        displayCB.addItem ("Amount of disease");
-        displayCB.addItem ("Amount of old pigeons");
-        displayCB.addItem ("Average speed");
-        displayCB.addItem ("Average max HP");
-        displayCB.addItem ("Average power");
-        displayCB.addItem ("Average mutation level");
-        displayCB.addItem ("Average fullness");
+        displayCB = new JComboBox<String> ();
+        for (String name : NAMES)
+        {
+            displayCB.addItem (name);
+        }
         displayCB.addActionListener (this);
+        beginTF.addActionListener (this); // Pressing enter redraws the graph, even if the simulation is stopped
+        zoomTF.addActionListener (this);
         warningTA = new JTextArea ("It is recommended that you pause the simulation before adjusting the features above.");
         
         // Make sure that the user does not mess around with the program
@@ -128,6 +162,7 @@ public class GraphGUI extends JFrame implements ActionListener
         displayCB.setEditable (false);
         displayTA.setEditable (false);
         warningTA.setEditable (false);
+        output.setText ("\n\n"); // Leave room for all three lines of output, since the window isn't packed while drawing
         
         // 2... Create content panel, set layouts
         JPanel content = new JPanel (); // The main content panel
@@ -163,6 +198,15 @@ public class GraphGUI extends JFrame implements ActionListener
         setLocationRelativeTo (null); // Center window
         setVisible (true); // Make the window usable
         setResizable (false); // So that user can't mess around with window
+        
+        // Redraw the graph at a steady rate, but only if there is something new to show
+        new Timer (1000 / GRAPH_RATE, e -> {
+            if (changed)
+            {
+                changed = false;
+                draw.repaint ();
+            }
+        }).start ();
     } // GraphGUI() constructor
     
     
@@ -173,76 +217,35 @@ public class GraphGUI extends JFrame implements ActionListener
      */
     public static void setOutput (String text)
     {
-        output.setText (text);
+        if (!text.equals (output.getText ())) // Changing the text makes the window lay itself out again
+        {
+            output.setText (text);
+        }
     } // setOutput(String)
     
     
     /**
-     * This method adds more stats to the lists of stats to be displayed and then displays the new stats.
+     * This method adds more stats to the lists of stats to be displayed, without redrawing anything.
+     * Stats are recorded every frame, but the graph is only redrawn <code>GRAPH_RATE</code> times per second.
+     * 
+     * @param colony The colony whose stats are recorded.
      */
-    public static void addStats ()
+    public static void recordStats (Colony colony)
     {
-        populations.add ((double) PigeonholeSimulation.colony.size ());
-        try
-        {
-            diseases.add (PigeonholeSimulation.colony.getDisease ());
-        }
-        catch (ArithmeticException ex) // Colony is empty
-        {
-            diseases.add (null);
-        }
-        try
-        {
-            olds.add (PigeonholeSimulation.colony.getOld ());
-        }
-        catch (ArithmeticException ex) // Colony is empty
-        {
-            olds.add (null);
-        }
-        try
-        {
-            speeds.add (PigeonholeSimulation.colony.getAvgSpeed ());
-        }
-        catch (ArithmeticException ex) // Colony is empty
-        {
-            speeds.add (null);
-        }
-        try
-        {
-            powers.add (PigeonholeSimulation.colony.getAvgPower ());
-        }
-        catch (ArithmeticException ex) // Colony is empty
-        {
-            powers.add (null);
-        }
-        try
-        {
-            maxHPs.add (PigeonholeSimulation.colony.getAvgMaxHP ());
-        }
-        catch (ArithmeticException ex) // Colony is empty
-        {
-            maxHPs.add (null);
-        }
-        try
-        {
-            muts.add (PigeonholeSimulation.colony.getAvgMut ());
-        }
-        catch (ArithmeticException ex) // Colony is empty
-        {
-            muts.add (null);
-        }
-        try
-        {
-            fulls.add (PigeonholeSimulation.colony.getAvgFull ());
-        }
-        catch (ArithmeticException ex) // Colony is empty
-        {
-            fulls.add (null);
-        }
+        ColonyStats stats = colony.getStats (); // Every statistic, calculated in one pass
         
-        window.repaint (); // Redraw everything after stats are added
-        window.pack (); // Resize window to make everything fit perfectly
-    } // addStats() method
+        populations.add ((double) colony.size ());
+        
+        // Averages are undefined for an empty colony, so they are NaN, which is shown as a gap in the graph
+        diseases.add (stats.getDisease ());
+        olds.add (stats.getOld ());
+        speeds.add (stats.getAvgSpeed ());
+        powers.add (stats.getAvgPower ());
+        maxHPs.add (stats.getAvgMaxHP ());
+        muts.add (stats.getAvgMut ());
+        fulls.add (stats.getAvgFull ());
+        changed = true;
+    } // recordStats(Colony) method
     
     
     /**
@@ -270,9 +273,62 @@ public class GraphGUI extends JFrame implements ActionListener
     
     /**
      * A special type of panel that will draw the graph in the GUI.
+     * Columns of the graph are drawn once into an image and kept, so each redraw only has to draw the columns
+     * that are new. The image is only drawn from scratch when the stat, the y-range or the frames being shown change.
      */
     class DrawArea extends JPanel
     {
+        /**
+         * The version of the serialized form of this class.
+         */
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The columns of the graph that cover frames that all have stats, along with the axes.
+         */
+        private BufferedImage plot;
+        
+        /**
+         * The series of stats that the image shows.
+         */
+        private TimeSeries plotStats;
+        
+        /**
+         * The first frame that the image shows.
+         */
+        private long plotBegin;
+        
+        /**
+         * The number of frames in each column of the image.
+         */
+        private long plotZoom;
+        
+        /**
+         * The smallest stat that the image can show.
+         */
+        private double plotMin;
+        
+        /**
+         * The largest stat that the image can show.
+         */
+        private double plotMax;
+        
+        /**
+         * The number of columns that have been drawn into the image.
+         */
+        private int columns;
+        
+        /**
+         * The lowest and highest y-coordinates of the last column that was drawn into the image, or -1 if it was empty.
+         */
+        private int prevLow, prevHigh;
+        
+        /**
+         * Reusable space for the range of stats in a column.
+         */
+        private final double[] range = new double[2];
+        
+        
         /**
          * This Constructor method creates a new drawing area with a given size.
          * 
@@ -282,125 +338,53 @@ public class GraphGUI extends JFrame implements ActionListener
         public DrawArea (int width, int height)
         {
             this.setPreferredSize (new Dimension (width, height)); // size
+            plot = new BufferedImage (width, height, BufferedImage.TYPE_INT_RGB);
+            plotStats = null;
         } // DrawArea(int,int) constructor
 
         
         /**
-         * This method redraws everything in the world.
+         * This method redraws the graph and describes the latest stat.
          * 
          * @param g The Graphics that will draw stuff.
          */
         public void paintComponent (Graphics g)
         {
-            // Display the required stat as text
-            if (displayCB.getSelectedItem ().equals ("Average speed"))
-            {
-                try
-                {
-                    setOutput ("Average speed: " + speeds.get (speeds.size () - 1) + " pixels per frame");
-                }
-                catch (NullPointerException ex) // Colony is empty
-                {
-                    setOutput ("Average speed: Undefined");
-                }
-                drawGraph (g, speeds);
-            }
-            else if (displayCB.getSelectedItem ().equals ("Average power"))
-            {
-                try
-                {
-                    setOutput ("Average power: " + powers.get (powers.size () - 1));
-                }
-                catch (NullPointerException ex) // Colony is empty
-                {
-                    setOutput ("Average power: Undefined");
-                }
-                drawGraph (g, powers);
-            }
-            else if (displayCB.getSelectedItem ().equals ("Average max HP"))
-            {
-                try
-                {
-                    setOutput ("Average max HP: " + maxHPs.get (maxHPs.size () - 1));
-                }
-                catch (NullPointerException ex) // Colony is empty
-                {
-                    setOutput ("Average max HP: Undefined");
-                }
-                drawGraph (g, maxHPs);
-            }
-            else if (displayCB.getSelectedItem ().equals ("Average mutation level"))
-            {
-                try
-                {
-                    setOutput ("Average mutation level: " + muts.get (muts.size () - 1));
-                }
-                catch (NullPointerException ex) // Colony is empty
-                {
-                    setOutput ("Average mutation level: Undefined");
-                }
-                drawGraph (g, muts);
-            }
-            else if (displayCB.getSelectedItem ().equals ("Average fullness"))
-            {
-                try
-                {
-                    setOutput ("Average fullness: " + fulls.get (fulls.size () - 1));
-                }
-                catch (NullPointerException ex) // Colony is empty
-                {
-                    setOutput ("Average fullness: Undefined");
-                }
-                drawGraph (g, fulls);
-            }
-            else if (displayCB.getSelectedItem ().equals ("Population"))
-            {
-                setOutput ("Population: " + populations.get (populations.size () - 1) + " pigeons");
-                drawGraph (g, populations);
-            }
-            else if (displayCB.getSelectedItem ().equals ("Amount of disease"))
+            int stat = Math.max (0, displayCB.getSelectedIndex ());
+            TimeSeries stats = series[stat];
+            
+            StringBuilder text = new StringBuilder (NAMES[stat]).append (": ");
+            if (Double.isNaN (stats.last ())) // Averages are undefined for an empty colony
             {
-                try
-                {
-                    setOutput ("Amount of disease: " + diseases.get (diseases.size () - 1) + "% of pigeons");
-                }
-                catch (NullPointerException ex) // Colony is empty
-                {
-                    setOutput ("Amount of disease: Undefined");
-                }
-                drawGraph (g, diseases);
+                text.append ("Undefined");
             }
-            else if (displayCB.getSelectedItem ().equals ("Amount of old pigeons"))
+            else
             {
-                try
-                {
-                    setOutput ("Amount of old pigeons: " + olds.get (olds.size () - 1) + "% of pigeons");
-                }
-                catch (NullPointerException ex) // Colony is empty
-                {
-                    setOutput ("Amount of old pigeons: Undefined");
-                }
-                drawGraph (g, olds);
+                text.append (stats.last ()).append (UNITS[stat]);
             }
-            
-            window.pack (); // To make everything fit perfectly when displaying
+            drawGraph (g, stats, text);
+            setOutput (text.toString ());
         } // paintComponent(Graphics) method
         
         
         /**
-         * This method displays a graph using a given Graphics and a given list of stats.
+         * This method displays a graph using a given Graphics and a given series of stats.
+         * Each column of pixels shows the range of the stats in the frames that the column covers.
+         * 
+         * @param g The Graphics that will draw stuff.
+         * @param stats The series of stats to be displayed.
+         * @param text The text output, which the ranges of the graph are added to.
          */
-        public void drawGraph (Graphics g, ArrayList<Double> stats)
+        public void drawGraph (Graphics g, TimeSeries stats, StringBuilder text)
         {
             // Declare variables
-            int begin = 0;
-            double max = -1e99;
-            double min = 1e99;
-            int zoom = 0;
+            long begin = 0;
+            long zoom = 0;
+            long size = stats.size (); // Stats may be added while drawing, so only look at the ones there are now
             
             try
             {
-                zoom = Integer.parseInt (zoomTF.getText ());
+                zoom = Long.parseLong (zoomTF.getText ());
             }
             catch (NumberFormatException ex) // Not an integer
             {
@@ -408,7 +392,7 @@ public class GraphGUI extends JFrame implements ActionListener
             }
             try
             {
-                begin = Integer.parseInt (beginTF.getText ());
+                begin = Long.parseLong (beginTF.getText ());
             }
             catch (NumberFormatException ex) // Not an integer
             {
@@ -417,67 +401,122 @@ public class GraphGUI extends JFrame implements ActionListener
             if (zoomTF.getText ().equals ("Auto") && beginTF.getText ().equals ("Auto")) // Program should decide both variables
             {
                 begin = 0; // Start from beginning
-                zoom = (stats.size () - 1) / 500 + 1; // Fit the entire graph
+                zoom = (size - 1) / 500 + 1; // Fit the entire graph
             }
             else if (zoomTF.getText ().equals ("Auto")) // Program should decide zoom
             {
-                zoom = (stats.size () - 1) / 500 + 1; // Fit the entire graph
+                zoom = (size - 1) / 500 + 1; // Fit the entire graph
             }
             else if (beginTF.getText ().equals ("Auto")) // Program should decide beginning point
             {
-                begin = Math.max (0, stats.size () - 500 * zoom - 1); // Display as much as possible while displaying ending
+                begin = Math.max (0, size - 500 * zoom - 1); // Display as much as possible while displaying ending
             }
+            zoom = Math.max (1, zoom);
             
-            // Loop to determine minimum and maximum values
-            for (int i = begin; i < stats.size () && i <= begin + 500 * zoom; i++)
+            // Determine minimum and maximum values
+            stats.range (begin, Math.min (size, begin + 500 * zoom + 1), range);
+            double min = range[0];
+            double max = range[1];
+            if (Double.isNaN (min)) // None of the stats exist
             {
-                try
-                {
-                    max = Math.max (max, stats.get (i));
-                    min = Math.min (min, stats.get (i));
-                }
-                catch (NullPointerException ex) // The stat doesn't exist
-                {
-                }
+                g.setColor (getBackground ());
+                g.fillRect (0, 0, getWidth (), getHeight ());
+                text.append ("\nThere are no stats to be displayed."); // Display error message
+                plotStats = null;
+                return; // No graph to be displayed
             }
-            if (max == -1e99 && min == 1e99) // None of the stats exist
+            
+            // Display ranges as text
+            text.append ("\nThe y-values on this graph range from ").append (min).append (" to ").append (max).append (".");
+            text.append ("\nThis graph ranges from ").append (begin).append (" frames to ").append (begin + 500 * zoom)
+                .append (" frames.");
+            
+            if (stats != plotStats || begin != plotBegin || zoom != plotZoom || min != plotMin || max != plotMax)
             {
-                setOutput (output.getText () + "\nThere are no stats to be displayed."); // Display error message
-                return; // No graph to be displayed
+                // Start the image from scratch, with the axes and their labels
+                Graphics pg = plot.getGraphics ();
+                pg.setColor (getBackground ());
+                pg.fillRect (0, 0, plot.getWidth (), plot.getHeight ());
+                pg.setColor (getForeground ());
+                pg.setFont (getFont ());
+                pg.drawLine (25, 25, 25, 526);
+                pg.drawLine (25, 526, 525, 526);
+                pg.drawString ("Number of frames", 230, 540);
+                pg.dispose ();
+                
+                plotStats = stats;
+                plotBegin = begin;
+                plotZoom = zoom;
+                plotMin = min;
+                plotMax = max;
+                columns = 0;
+                prevLow = prevHigh = -1;
             }
             
-            // Display axes and their labels
-            g.drawLine (25, 25, 25, 526);
-            g.drawLine (25, 526, 525, 526);
-            g.drawString ("Number of frames", 230, 540);
+            // Loop to add the columns whose frames all have stats now
+            Graphics pg = plot.getGraphics ();
+            pg.setColor (getForeground ());
+            while (columns <= 500 && begin + (columns + 1) * zoom <= size)
+            {
+                drawColumn (pg, stats, columns);
+                columns++;
+            }
+            pg.dispose ();
+            g.drawImage (plot, 0, 0, null);
             
-            // Display ranges as text
-            setOutput (output.getText () + "\nThe y-values on this graph range from " + min + " to " + max + ".");
-            setOutput (output.getText () + "\nThis graph ranges from " + begin + " frames to "
-                        + (begin + 500 * zoom) + " frames.");
-                        
-            // Loop to display actual data
-            for (int i = begin + zoom; i < stats.size (); i += zoom)
+            // The last column is still filling up, so it is drawn straight on the screen until it is complete
+            if (columns <= 500 && begin + columns * zoom < size)
+            {
+                int low = prevLow, high = prevHigh;
+                g.setColor (getForeground ());
+                drawColumn (g, stats, columns);
+                prevLow = low; // The column is not in the image yet
+                prevHigh = high;
+            }
+        } // drawGraph(Graphics,TimeSeries,StringBuilder) method
+        
+        
+        /**
+         * This method displays one column of the graph and joins it to the column before it.
+         * 
+         * @param g The Graphics that will draw stuff.
+         * @param stats The series of stats to be displayed.
+         * @param x The number of the column, counting from the left of the graph.
+         */
+        private void drawColumn (Graphics g, TimeSeries stats, int x)
+        {
+            stats.range (plotBegin + x * plotZoom, plotBegin + (x + 1) * plotZoom, range);
+            if (Double.isNaN (range[0])) // The stat doesn't exist and cannot be displayed
+            {
+                prevLow = prevHigh = -1;
+                return;
+            }
+            
+            int low, high; // The y-coordinates where the data should be displayed
+            if (plotMin == plotMax) // y-values have no range
+            {
+                low = high = 275; // Draw a flat line at the middle
+            }
+            else // Regular graph
+            {
+                low = (int) (525 - 500 * (range[0] - plotMin) / (plotMax - plotMin));
+                high = (int) (525 - 500 * (range[1] - plotMin) / (plotMax - plotMin));
+            }
+            
+            g.drawLine (x + 25, low, x + 25, high);
+            if (prevLow != -1) // Join to the previous column
             {
-                try
+                if (high > prevLow) // Entirely below the previous column
                 {
-                    int y1, y2; // The y-coordinates where the data should be displayed
-                    if (min == max) // y-values have no range
-                    {
-                        y1 = y2 = 275; // Draw a flat line at the middle
-                    }
-                    else // Regular graph
-                    {
-                        y1 = (int) (525 - 500 * (stats.get (i - zoom) - min) / (max - min));
-                        y2 = (int) (525 - 500 * (stats.get (i) - min) / (max - min));
-                    }
-                    
-                    g.drawLine ((i - begin) / zoom + 25, y1, (i - begin) / zoom + 26, y2);
+                    g.drawLine (x + 24, prevLow, x + 25, high);
                 }
-                catch (NullPointerException ex) // The stat doesn't exist and cannot be displayed
+                else if (low < prevHigh) // Entirely above the previous column
                 {
+                    g.drawLine (x + 24, prevHigh, x + 25, low);
                 }
             }
-        } // drawGraph(Graphics,ArrayList<Double>) method
+            prevLow = low;
+            prevHigh = high;
+        } // drawColumn(Graphics,TimeSeries,int) method
     } // DrawArea class
 } // GraphGUI class
@@ -0,0 +1,94 @@
+/**
+ * This program simulates a world of pigeons without displaying anything, as fast as possible.
+ * It never creates a window, so it can run on computers without a display.
+ * 
+ * Usage: <code>java HeadlessSimulation frames [lowSeason highSeason [threads [seed [tiles]]]]</code>
+ * 
+ * The tiles are vertical strips of the world that are moved on several threads, every other strip at once.
+ * Each strip is at least two pigeonholes wide, so the world has at most 8 tiles and at most 4 run at the same time;
+ * predators, breeding and food stay on one thread. Giving <code>auto</code> as the number of tiles uses two per thread.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class HeadlessSimulation
+{
+    /**
+     * How often, in frames, progress should be reported.
+     */
+    private static final int REPORT_INTERVAL = 10000;
+    
+    
+    /**
+     * This method simulates a given colony for a given number of frames.
+     * 
+     * @param colony The colony to be simulated.
+     * @param frames The number of frames to simulate.
+     * @return The amount of time that the simulation took, in nanoseconds.
+     */
+    public static long run (Colony colony, int frames)
+    {
+        long start = System.nanoTime ();
+        for (int i = 0; i < frames; i++)
+        {
+            colony.move (); // Simulate one frame of the world
+        }
+        return System.nanoTime () - start;
+    } // run(Colony,int) method
+    
+    
+    /**
+     * This method simulates a world with the settings given on the command line and reports how it went.
+     * 
+     * @param args The number of frames to simulate, optionally followed by the low and high season food rates
+     *             and then the number of threads that move the pigeons, the random seed and the number of tiles
+     *             (or <code>auto</code>).
+     */
+    public static void main (String[] args)
+    {
+        if (args.length != 1 && (args.length < 3 || args.length > 6))
+        {
+            System.err.println ("Usage: java HeadlessSimulation frames [lowSeason highSeason [threads [seed [tiles|auto]]]]");
+            System.err.println ("Tiles are strips at least two pigeonholes wide (at most 8, 4 running at once)."
+                                + " Predators, breeding and food stay on one thread.");
+            System.exit (1);
+        }
+        
+        // Read the settings
+        int frames = Integer.parseInt (args[0]);
+        SimulationConfig config = new SimulationConfig ();
+        if (args.length >= 3)
+        {
+            config.setSeasons (Double.parseDouble (args[1]), Double.parseDouble (args[2]));
+        }
+        if (args.length >= 4)
+        {
+            config.setThreads (Integer.parseInt (args[3]));
+        }
+        if (args.length >= 5)
+        {
+            config.setSeed (Long.parseLong (args[4]));
+        }
+        if (args.length == 6)
+        {
+            config.setTiles (args[5].equals ("auto") ? SimulationConfig.AUTO_TILES : Integer.parseInt (args[5]));
+        }
+        System.out.println ("Seed: " + config.getSeed ()); // So that an interesting run can be repeated
+        
+        Colony colony = new Colony (config);
+        colony.addFrameListener (c ->
+        {
+            if (c.getAge () % REPORT_INTERVAL == REPORT_INTERVAL - 1)
+            {
+                System.out.println ("Frame " + (c.getAge () + 1) + ": " + c.size () + " pigeons");
+            }
+        });
+        
+        long time = run (colony, frames);
+        System.out.println ("Simulated " + frames + " frames in " + time / 1e9 + " seconds ("
+                            + Math.round (frames / (time / 1e9)) + " frames per second)");
+        System.out.println ("Final population: " + colony.size () + " pigeons");
+    } // main(String[]) method
+} // HeadlessSimulation class
@@ -0,0 +1,344 @@
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * A rectangular grid of pigeonholes that are spaced 40 pixels apart, starting from the top left corner of the world.
+ * Since the grid is regular, the pigeonhole at any location can be found with arithmetic instead of a search,
+ * and searches for the closest pigeonhole only have to look at pigeonholes near the pigeon.
+ * The grid also keeps count of how many pigeonholes are unfilled for each gender, so that searches can be skipped
+ * entirely when every pigeonhole is already taken, and it keeps a list of the pigeonholes where each gender could breed
+ * right now, so that searches for a breeding partner only look at real opportunities.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class HoleGrid
+{
+    /**
+     * The distance between the top left corners of neighbouring pigeonholes, in pixels.
+     */
+    public static final int SPACING = 40;
+    
+    /**
+     * The number of columns of pigeonholes.
+     */
+    private final int cols;
+    
+    /**
+     * The number of rows of pigeonholes.
+     */
+    private final int rows;
+    
+    /**
+     * All the pigeonholes, stored column by column.
+     */
+    private final Pigeonhole[] holes;
+    
+    /**
+     * The number of pigeonholes without a pigeon of each gender.
+     */
+    private int[] free;
+    
+    /**
+     * The pigeonholes where a pigeon of each gender could breed right now, by gender.
+     * Only the first <code>breedingCount[gender]</code> entries for each gender are used, in no particular order.
+     * 
+     * @see Pigeonhole.canBreed(int)
+     */
+    private final int[][] breeding;
+    
+    /**
+     * The number of pigeonholes where a pigeon of each gender could breed right now.
+     */
+    private final int[] breedingCount;
+    
+    /**
+     * The position of each pigeonhole in the list of breeding opportunities for each gender, or -1 if it is not in the list.
+     */
+    private final int[][] breedingPos;
+    
+    
+    /**
+     * This constructor method creates a new grid of empty pigeonholes with a given size.
+     * 
+     * @param cols1 The number of columns of pigeonholes.
+     * @param rows1 The number of rows of pigeonholes.
+     */
+    public HoleGrid (int cols1, int rows1)
+    {
+        cols = cols1;
+        rows = rows1;
+        holes = new Pigeonhole[cols * rows];
+        free = new int[] {holes.length, holes.length};
+        breeding = new int[2][holes.length];
+        breedingCount = new int[2];
+        breedingPos = new int[2][holes.length];
+        Arrays.fill (breedingPos[0], -1);
+        Arrays.fill (breedingPos[1], -1);
+        
+        // Loop to create each pigeonhole
+        for (int x = 0; x < cols; x++)
+        {
+            for (int y = 0; y < rows; y++)
+            {
+                holes[x * rows + y] = new Pigeonhole (x * SPACING, y * SPACING);
+                holes[x * rows + y].setGrid (this, x * rows + y);
+            }
+        }
+    } // HoleGrid(int,int) constructor
+    
+    
+    /**
+     * This method calculates the number of pigeonholes in the grid.
+     * 
+     * @return The number of pigeonholes in the grid.
+     */
+    public int size ()
+    {
+        return holes.length;
+    } // size() method
+    
+    
+    /**
+     * This accessor method returns a pigeonhole in the grid.
+     * Pigeonholes are numbered column by column, from left to right and then from top to bottom.
+     * 
+     * @param index The number of the pigeonhole.
+     * @return The required pigeonhole.
+     */
+    public Pigeonhole get (int index)
+    {
+        return holes[index];
+    } // get(int) method
+    
+    
+    /**
+     * This accessor method returns the number of columns of pigeonholes.
+     * 
+     * @return The value of the <code>cols</code> field.
+     * @see cols
+     */
+    public int getCols ()
+    {
+        return cols;
+    } // getCols() method
+    
+    
+    /**
+     * This accessor method returns the number of pigeonholes that do not have a pigeon of a given gender.
+     * 
+     * @param gender An integer representing the gender to be checked.
+     * @return The number of pigeonholes that a pigeon of the given gender could enter.
+     */
+    public int getFree (int gender)
+    {
+        return free[gender];
+    } // getFree(int) method
+    
+    
+    /**
+     * This method returns the offset from the left edge of a pigeonhole to the entrance point for a given gender.
+     * 
+     * @param gender An integer representing the gender.
+     * @return The horizontal offset of the entrance point.
+     * @see Pigeonhole.getX(Pigeon)
+     */
+    private static int entranceOffset (int gender)
+    {
+        return (gender == 0) ? 20 : 15;
+    } // entranceOffset(int) method
+    
+    
+    /**
+     * This method finds the pigeonhole whose entrance point for a given gender is at a given location.
+     * A pigeon is at the entrance point when its coordinates, rounded down, are the same as the entrance point.
+     * 
+     * @param gender An integer representing the gender of the pigeon.
+     * @param x The x-coordinate of the pigeon.
+     * @param y The y-coordinate of the pigeon.
+     * @return The pigeonhole that the pigeon could enter, or <code>null</code> if the pigeon is not at any entrance.
+     */
+    public Pigeonhole holeAt (int gender, double x, double y)
+    {
+        int ex = (int) Math.floor (x) - entranceOffset (gender);
+        int ey = (int) Math.floor (y) - 18;
+        if (ex < 0 || ey < 0 || ex % SPACING != 0 || ey % SPACING != 0)
+        {
+            return null; // Not at an entrance point
+        }
+        
+        int col = ex / SPACING;
+        int row = ey / SPACING;
+        if (col >= cols || row >= rows)
+        {
+            return null; // Outside of the grid
+        }
+        return holes[col * rows + row];
+    } // holeAt(int,double,double) method
+    
+    
+    /**
+     * This method finds the pigeonhole closest to a pigeon that does not have a pigeon of the same gender.
+     * 
+     * @param gender An integer representing the gender of the pigeon.
+     * @param x The x-coordinate of the pigeon.
+     * @param y The y-coordinate of the pigeon.
+     * @return The closest unfilled pigeonhole, or <code>null</code> if every pigeonhole is filled.
+     */
+    public Pigeonhole nearestUnfilled (int gender, double x, double y)
+    {
+        if (free[gender] == 0)
+        {
+            return null; // Every pigeonhole is filled, so don't bother searching
+        }
+        return nearest (gender, x, y, hole -> !hole.getFilled (gender));
+    } // nearestUnfilled(int,double,double) method
+    
+    
+    /**
+     * This method finds the pigeonhole closest to a pigeon where the pigeon could breed, out of those that pass a given test.
+     * Only the pigeonholes where the pigeon could breed right now are looked at, so the search costs nothing
+     * when there are no breeding opportunities, no matter how large the grid is.
+     * 
+     * @param gender An integer representing the gender of the pigeon.
+     * @param x The x-coordinate of the pigeon.
+     * @param y The y-coordinate of the pigeon.
+     * @param test The test that the pigeonhole has to pass.
+     * @return The closest pigeonhole (the earliest one if there is a tie), or <code>null</code> if there is none.
+     * @see Pigeonhole.canBreed(int)
+     */
+    public Pigeonhole nearestBreeding (int gender, double x, double y, Predicate<Pigeonhole> test)
+    {
+        int offset = entranceOffset (gender);
+        int best = -1;
+        double minDist = 1e99;
+        
+        // Loop through the breeding opportunities for the gender
+        for (int k = 0; k < breedingCount[gender]; k++)
+        {
+            int index = breeding[gender][k];
+            double ex = index / rows * SPACING + offset; // Entrance point of the pigeonhole
+            double ey = index % rows * SPACING + 18;
+            double dist = Math.sqrt ((x - ex) * (x - ex) + (y - ey) * (y - ey));
+            if ((dist < minDist || (dist == minDist && index < best)) && test.test (holes[index]))
+            {
+                minDist = dist;
+                best = index;
+            }
+        }
+        return (best == -1) ? null : holes[best];
+    } // nearestBreeding(int,double,double,Predicate<Pigeonhole>) method
+    
+    
+    /**
+     * This method finds the pigeonhole whose entrance point is closest to a pigeon, out of those that pass a given test.
+     * Pigeonholes are searched in square rings around the pigeon, and the search stops as soon as no farther ring
+     * could contain a closer pigeonhole.
+     * 
+     * @param gender An integer representing the gender of the pigeon.
+     * @param x The x-coordinate of the pigeon.
+     * @param y The y-coordinate of the pigeon.
+     * @param test The test that the pigeonhole has to pass.
+     * @return The closest pigeonhole (the earliest one if there is a tie), or <code>null</code> if there is none.
+     */
+    public Pigeonhole nearest (int gender, double x, double y, Predicate<Pigeonhole> test)
+    {
+        int offset = entranceOffset (gender);
+        
+        // The column and row of the pigeonhole that the pigeon is at, even if it is outside of the grid
+        int cx = (int) Math.floor ((x - offset) / SPACING);
+        int cy = (int) Math.floor ((y - 18) / SPACING);
+        int maxRing = Math.max (Math.max (Math.abs (cx), Math.abs (cx - cols + 1)), Math.max (Math.abs (cy), Math.abs (cy - rows + 1)));
+        
+        int best = -1;
+        double minDist = 1e99;
+        
+        // Loop through rings of pigeonholes, starting from the pigeonhole that the pigeon is at
+        for (int r = 0; r <= maxRing; r++)
+        {
+            if (best != -1 && minDist <= (r - 1) * SPACING)
+            {
+                break; // Every pigeonhole in this ring or beyond is farther away
+            }
+            
+            for (int col = Math.max (0, cx - r); col <= Math.min (cols - 1, cx + r); col++)
+            {
+                // Only the top and bottom pigeonholes are on the ring, except for the leftmost and rightmost columns
+                int step = (col == cx - r || col == cx + r) ? 1 : Math.max (1, 2 * r);
+                for (int row = cy - r; row <= cy + r; row += step)
+                {
+                    if (row < 0 || row >= rows)
+                    {
+                        continue; // Outside of the grid
+                    }
+                    
+                    int index = col * rows + row;
+                    double ex = col * SPACING + offset; // Entrance point of the pigeonhole
+                    double ey = row * SPACING + 18;
+                    double dist = Math.sqrt ((x - ex) * (x - ex) + (y - ey) * (y - ey));
+                    if ((dist < minDist || (dist == minDist && index < best)) && test.test (holes[index]))
+                    {
+                        minDist = dist;
+                        best = index;
+                    }
+                }
+            }
+        }
+        return (best == -1) ? null : holes[best];
+    } // nearest(int,double,double,Predicate<Pigeonhole>) method
+    
+    
+    /**
+     * This method updates the counts of unfilled pigeonholes when a pigeonhole is about to change or has just changed.
+     * 
+     * @param hole The pigeonhole that is changing.
+     * @param sign -1 before the pigeonhole changes, and 1 after it changes.
+     */
+    synchronized void count (Pigeonhole hole, int sign) // Pigeons in different tiles can enter pigeonholes at the same time
+    {
+        for (int gender = 0; gender < 2; gender++)
+        {
+            if (!hole.getFilled (gender))
+            {
+                free[gender] += sign;
+            }
+        }
+        if (sign > 0)
+        {
+            update (hole);
+        }
+    } // count(Pigeonhole,int) method
+    
+    
+    /**
+     * This method updates the lists of breeding opportunities for a pigeonhole.
+     * It has to be called whenever a pigeon inside the pigeonhole becomes able or unable to breed.
+     * 
+     * @param hole The pigeonhole that may have changed.
+     * @see Pigeonhole.canBreed(int)
+     */
+    synchronized void update (Pigeonhole hole)
+    {
+        int index = hole.getIndex ();
+        for (int gender = 0; gender < 2; gender++)
+        {
+            int[] list = breeding[gender];
+            int[] pos = breedingPos[gender];
+            boolean listed = pos[index] != -1;
+            if (hole.canBreed (gender) && !listed) // New opportunity
+            {
+                pos[index] = breedingCount[gender];
+                list[breedingCount[gender]++] = index;
+            }
+            else if (!hole.canBreed (gender) && listed) // Fill the gap with the last opportunity
+            {
+                int last = list[--breedingCount[gender]];
+                list[pos[index]] = last;
+                pos[last] = pos[index];
+                pos[index] = -1;
+            }
+        }
+    } // update(Pigeonhole) method
+} // HoleGrid class
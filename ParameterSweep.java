@@ -0,0 +1,432 @@
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This program explores how the settings of the simulation affect the colony, by simulating every combination of
+ * settings from a design file without any graphics, many colonies at a time.
+ * 
+ * The design file is a properties file. Each setting in <code>PARAMETERS</code> can be given either one value,
+ * a comma-separated list of values (for a grid design), or a range such as <code>0.5..2.5</code> (for a random design).
+ * A grid design simulates every combination of the listed values, and a random design simulates
+ * <code>samples</code> combinations drawn uniformly from the ranges. Settings that are left out keep their defaults.
+ * For example:
+ * 
+ * <pre>
+ * design = grid
+ * frames = 50000
+ * interval = 500
+ * replicas = 3
+ * seed = 1
+ * output = sweep.csv
+ * safety = 40, 60, 80
+ * highSeason = 2.0, 2.5, 3.0
+ * </pre>
+ * 
+ * Every combination is simulated <code>replicas</code> times, and replica <code>r</code> uses the same seed for every
+ * combination, so differences between combinations are caused by the settings rather than by luck.
+ * The results are written to one CSV table with one row per sample of each colony, as soon as each colony finishes.
+ * 
+ * Usage: <code>java ParameterSweep design.properties</code>
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class ParameterSweep
+{
+    /**
+     * The names of the settings that can be swept, in the order that they appear in the results.
+     */
+    public static final String[] PARAMETERS = {"initialPigeons", "predators", "lowSeason", "highSeason", "safety",
+                                               "breedingAge", "oldAge", "breedTime", "foodDecay",
+                                               "predatorSpeedLow", "predatorSpeedRange"};
+    
+    /**
+     * The names of the properties in the design file that control the sweep itself.
+     */
+    private static final String[] OPTIONS = {"design", "samples", "frames", "interval", "replicas", "threads",
+                                             "seed", "output"};
+    
+    
+    /**
+     * This method creates a configuration with given values of some settings.
+     * 
+     * @param base The configuration that the other settings are copied from.
+     * @param names The names of the settings to be changed, from <code>PARAMETERS</code>.
+     * @param values The new values of the settings, in the same order as the names.
+     * @return The new configuration.
+     * @throw IllegalArgumentException If a name is not a setting, or if the values are not allowed together.
+     */
+    public static SimulationConfig configure (SimulationConfig base, String[] names, double[] values)
+    {
+        SimulationConfig config = new SimulationConfig (base);
+        
+        // Collect the settings first, since some of them can only be set in pairs
+        double lowSeason = config.getLowSeason (), highSeason = config.getHighSeason ();
+        int breedingAge = config.getBreedingAge (), oldAge = config.getOldAge ();
+        double speedLow = config.getPredatorSpeedLow (), speedRange = config.getPredatorSpeedRange ();
+        for (int k = 0; k < names.length; k++)
+        {
+            double value = values[k];
+            switch (names[k])
+            {
+                case "initialPigeons": config.setInitialPigeons ((int) Math.round (value)); break;
+                case "predators": config.setPredators ((int) Math.round (value)); break;
+                case "lowSeason": lowSeason = value; break;
+                case "highSeason": highSeason = value; break;
+                case "safety": config.setSafety (value); break;
+                case "breedingAge": breedingAge = (int) Math.round (value); break;
+                case "oldAge": oldAge = (int) Math.round (value); break;
+                case "breedTime": config.setBreedTime ((int) Math.round (value)); break;
+                case "foodDecay": config.setFoodDecay (value); break;
+                case "predatorSpeedLow": speedLow = value; break;
+                case "predatorSpeedRange": speedRange = value; break;
+                default: throw new IllegalArgumentException ("Unknown setting: " + names[k]);
+            }
+        }
+        config.setSeasons (lowSeason, highSeason);
+        config.setAges (breedingAge, oldAge);
+        config.setPredatorSpeed (speedLow, speedRange);
+        return config;
+    } // configure(SimulationConfig,String[],double[]) method
+    
+    
+    /**
+     * This method lists every combination of the listed values of some settings.
+     * 
+     * @param levels The listed values of each setting.
+     * @return Every combination of values, with the last setting changing fastest.
+     */
+    public static double[][] grid (double[][] levels)
+    {
+        int cells = 1;
+        for (double[] level : levels)
+        {
+            cells *= level.length;
+        }
+        
+        // Loop to count through the combinations like an odometer
+        double[][] design = new double[cells][levels.length];
+        for (int c = 0; c < cells; c++)
+        {
+            int rest = c;
+            for (int k = levels.length - 1; k >= 0; k--)
+            {
+                design[c][k] = levels[k][rest % levels[k].length];
+                rest /= levels[k].length;
+            }
+        }
+        return design;
+    } // grid(double[][]) method
+    
+    
+    /**
+     * This method draws random combinations of settings, each uniformly between a lowest and a highest value.
+     * 
+     * @param lows The lowest value of each setting.
+     * @param highs The highest value of each setting.
+     * @param samples The number of combinations to draw.
+     * @param random The random number stream that the combinations are drawn from.
+     * @return The combinations of values.
+     */
+    public static double[][] random (double[] lows, double[] highs, int samples, SplittableRandom random)
+    {
+        double[][] design = new double[samples][lows.length];
+        for (int c = 0; c < samples; c++)
+        {
+            for (int k = 0; k < lows.length; k++)
+            {
+                design[c][k] = lows[k] + random.nextDouble () * (highs[k] - lows[k]);
+            }
+        }
+        return design;
+    } // random(double[],double[],int,SplittableRandom) method
+    
+    
+    /**
+     * This method reads a list of values, such as <code>1, 2, 3</code>, or a range, such as <code>1..3</code>.
+     * A range is returned as its lowest and highest values.
+     * 
+     * @param name The name of the setting, for error messages.
+     * @param text The text to be read.
+     * @param range Whether the text should be a range instead of a list.
+     * @return The values in the text.
+     * @throw IllegalArgumentException If the text is not a list or a range of numbers.
+     */
+    private static double[] parseValues (String name, String text, boolean range)
+    {
+        try
+        {
+            if (text.contains (".."))
+            {
+                if (!range)
+                {
+                    throw new IllegalArgumentException ("A grid design needs a list of values for " + name + ".");
+                }
+                String[] ends = text.split ("\\.\\.");
+                double[] values = {Double.parseDouble (ends[0].trim ()), Double.parseDouble (ends[1].trim ())};
+                return values;
+            }
+            
+            String[] items = text.split (",");
+            double[] values = new double[items.length];
+            for (int i = 0; i < items.length; i++)
+            {
+                values[i] = Double.parseDouble (items[i].trim ());
+            }
+            if (range && values.length != 1)
+            {
+                throw new IllegalArgumentException ("A random design needs a range such as 1..3 for " + name + ".");
+            }
+            return range ? new double[] {values[0], values[0]} : values; // One value is a range of one
+        }
+        catch (NumberFormatException | ArrayIndexOutOfBoundsException e)
+        {
+            throw new IllegalArgumentException ("Cannot read the values of " + name + ": " + text);
+        }
+    } // parseValues(String,String,boolean) method
+    
+    
+    /**
+     * This method reads an option of the design file that has to be a positive whole number.
+     * 
+     * @param design The contents of the design file.
+     * @param name The name of the option.
+     * @param fallback The value of the option if the design file leaves it out.
+     * @return The value of the option.
+     * @throw IllegalArgumentException If the option is not a positive whole number.
+     */
+    private static int parsePositive (Properties design, String name, int fallback)
+    {
+        String text = design.getProperty (name, "" + fallback).trim ();
+        int value;
+        try
+        {
+            value = Integer.parseInt (text);
+        }
+        catch (NumberFormatException e)
+        {
+            value = 0;
+        }
+        
+        if (value <= 0)
+        {
+            throw new IllegalArgumentException ("The " + name + " must be a positive whole number: " + text);
+        }
+        return value;
+    } // parsePositive(Properties,String,int) method
+    
+    
+    /**
+     * This method runs the sweep described by a design file and writes the results as they come in.
+     * 
+     * @param design The contents of the design file.
+     * @return The number of colonies that were simulated.
+     * @throw IllegalArgumentException If the design file is not valid.
+     * @throw IOException If the results file cannot be written.
+     * @throw InterruptedException If the thread is interrupted while waiting for the colonies.
+     * @throw ExecutionException If one of the colonies fails.
+     */
+    public static int run (Properties design) throws IOException, InterruptedException, ExecutionException
+    {
+        for (String key : design.stringPropertyNames ())
+        {
+            if (!Arrays.asList (PARAMETERS).contains (key) && !Arrays.asList (OPTIONS).contains (key))
+            {
+                throw new IllegalArgumentException ("Unknown property in the design file: " + key);
+            }
+        }
+        
+        // Read the options of the sweep
+        String kind = design.getProperty ("design", "grid").trim ();
+        if (!kind.equals ("grid") && !kind.equals ("random"))
+        {
+            throw new IllegalArgumentException ("The design must be either grid or random.");
+        }
+        int frames = parsePositive (design, "frames", 20000);
+        int interval = parsePositive (design, "interval", 100);
+        int replicas = parsePositive (design, "replicas", 1);
+        int threads = parsePositive (design, "threads", Runtime.getRuntime ().availableProcessors ());
+        long seed = Long.parseLong (design.getProperty ("seed", "" + new SplittableRandom ().nextLong ()).trim ());
+        String output = design.getProperty ("output", "sweep.csv").trim ();
+        
+        // Read the settings to be swept, in the order of PARAMETERS
+        List<String> names = new ArrayList<> ();
+        List<double[]> levels = new ArrayList<> ();
+        for (String name : PARAMETERS)
+        {
+            if (design.getProperty (name) != null)
+            {
+                names.add (name);
+                levels.add (parseValues (name, design.getProperty (name), kind.equals ("random")));
+            }
+        }
+        String[] swept = names.toArray (new String[0]);
+        
+        // Build the design, drawing random designs from their own stream so the colony seeds don't depend on it
+        SplittableRandom root = new SplittableRandom (seed);
+        SplittableRandom designRandom = root.split ();
+        double[][] cells;
+        if (kind.equals ("grid"))
+        {
+            cells = grid (levels.toArray (new double[0][]));
+        }
+        else
+        {
+            double[] lows = new double[swept.length], highs = new double[swept.length];
+            for (int k = 0; k < swept.length; k++)
+            {
+                lows[k] = levels.get (k)[0];
+                highs[k] = levels.get (k)[1];
+            }
+            cells = random (lows, highs, parsePositive (design, "samples", 100), designRandom);
+        }
+        long[] seeds = new long[replicas];
+        for (int r = 0; r < replicas; r++)
+        {
+            seeds[r] = root.nextLong ();
+        }
+        
+        // Check every combination before spending the night on it
+        SimulationConfig base = new SimulationConfig ();
+        SimulationConfig[] configs = new SimulationConfig[cells.length];
+        for (int c = 0; c < cells.length; c++)
+        {
+            configs[c] = configure (base, swept, cells[c]);
+        }
+        System.err.println ("Simulating " + cells.length + " combinations " + replicas + " times each, with seed " + seed);
+        
+        try (PrintWriter out = new PrintWriter (new FileWriter (output)))
+        {
+            // Write the header
+            StringBuilder header = new StringBuilder ("cell,replica,seed");
+            for (String name : swept)
+            {
+                header.append (',').append (name);
+            }
+            header.append (",frame");
+            for (String stat : EnsembleSimulation.STATS)
+            {
+                header.append (',').append (stat);
+            }
+            out.println (header);
+            out.flush ();
+            
+            // Loop to simulate every replica of every combination on a work-stealing pool
+            AtomicLong progress = new AtomicLong ();
+            ForkJoinPool pool = new ForkJoinPool (threads);
+            try
+            {
+                List<Future<?>> futures = new ArrayList<> ();
+                for (int c = 0; c < cells.length; c++)
+                {
+                    for (int r = 0; r < replicas; r++)
+                    {
+                        int cell = c, replica = r;
+                        SimulationConfig config = new SimulationConfig (configs[c]);
+                        config.setSeed (seeds[r]);
+                        config.setThreads (0); // Each colony runs on one thread, and the colonies share the cores
+                        // Each colony's samples are kept until it finishes, so that its rows stay together in the results.
+                        // They take frames / interval rows of a few numbers each (under a megabyte even for a million
+                        // frames sampled every 100), and every finished colony is written out right away
+                        futures.add (pool.submit (() ->
+                        {
+                            double[][] samples = EnsembleSimulation.runColony (config, frames, interval, progress);
+                            write (out, cell, replica, config.getSeed (), cells[cell], interval, samples);
+                        }));
+                    }
+                }
+                
+                EnsembleSimulation.awaitProgress (pool, progress, (long) cells.length * replicas * frames);
+                for (Future<?> future : futures)
+                {
+                    future.get (); // Report any colony that failed
+                }
+                return futures.size ();
+            }
+            finally
+            {
+                pool.shutdown ();
+            }
+        }
+    } // run(Properties) method
+    
+    
+    /**
+     * This method writes the samples of one colony to the results, without mixing them up with other colonies' rows.
+     * 
+     * @param out The results file.
+     * @param cell The number of the combination of settings.
+     * @param replica The number of the replica of the combination.
+     * @param seed The seed of the colony.
+     * @param values The values of the swept settings.
+     * @param interval The number of frames between samples.
+     * @param samples The statistics of the colony, indexed by sample and then by statistic.
+     */
+    private static void write (PrintWriter out, int cell, int replica, long seed, double[] values, int interval,
+                               double[][] samples)
+    {
+        StringBuilder prefix = new StringBuilder ();
+        prefix.append (cell).append (',').append (replica).append (',').append (seed);
+        for (double value : values)
+        {
+            prefix.append (',').append (value);
+        }
+        
+        StringBuilder rows = new StringBuilder ();
+        for (int t = 0; t < samples.length; t++)
+        {
+            rows.append (prefix).append (',').append ((long) (t + 1) * interval);
+            for (double stat : samples[t])
+            {
+                rows.append (',').append (stat);
+            }
+            rows.append (System.lineSeparator ());
+        }
+        
+        synchronized (out)
+        {
+            out.print (rows);
+            out.flush (); // So that a sweep that is stopped early still has every finished colony
+        }
+    } // write(PrintWriter,int,int,long,double[],int,double[][]) method
+    
+    
+    /**
+     * This method runs the sweep described by the design file given on the command line.
+     * 
+     * @param args The name of the design file.
+     * @throw IOException If the design file cannot be read or the results file cannot be written.
+     * @throw InterruptedException If the program is interrupted while waiting for the colonies.
+     * @throw ExecutionException If one of the colonies fails.
+     */
+    public static void main (String[] args) throws IOException, InterruptedException, ExecutionException
+    {
+        if (args.length != 1)
+        {
+            System.err.println ("Usage: java ParameterSweep design.properties");
+            System.exit (1);
+        }
+        
+        Properties design = new Properties ();
+        try (Reader in = new FileReader (args[0]))
+        {
+            design.load (in);
+        }
+        int colonies = run (design);
+        System.err.println ("Simulated " + colonies + " colonies");
+    } // main(String[]) method
+} // ParameterSweep class
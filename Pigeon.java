@@ -5,6 +5,9 @@ import java.util.ArrayList;
  * An Object that represents a pigeon, the main creatures in the simulation.
  * Each pigeon is 5 pixels tall and 5 pixels wide.
  * 
+ * The state of the pigeon is kept in a row of a PigeonStore, and this Object is only a view of that row.
+ * A pigeon that is created on its own gets a store of its own, which it leaves when it is added to a colony.
+ * 
  * @author Michael Li
  * @author Kevin Wan
  * @author George Chen
@@ -13,189 +16,114 @@ import java.util.ArrayList;
 public class Pigeon
 {
     /**
-     * The amount of health points that the pigeon has.
-     * This value drops when the pigeon fights and increases when the pigeon heals.
-     * The pigeon dies if it has no health points left.
-     */
-    private double hp;
-    
-    /**
-     * The maximum possible HP that the pigeon could possibly have.
-     * This value increases as pigeons develop and gain more potential strength.
+     * The distance at which a pigeon feels safe from a predator by default, in pixels.
      * 
-     * @see hp
+     * @see SimulationConfig.safety
      */
-    private double maxHP;
+    static final double safety = 60;
     
     /**
-     * The maximum possible HP of the pigeon when it is born.
+     * The colours that pigeons are drawn with, by gender and then by level of brightness.
      * 
-     * @see maxHP
+     * @see DisplayMode
      */
-    private double baseMaxHP;
+    static final int[][] PALETTE = palette ();
     
     /**
-     * The age of the pigeon, in frames.
-     * If pigeons get too old, they will start getting weaker.
+     * The store that holds the state of the pigeon.
      */
-    private int age;
+    private PigeonStore store;
     
     /**
-     * The power level of the pigeon.
-     * This value increases as pigeons develop and gain more potential strength.
+     * The index of the pigeon in its store.
      */
-    private double power;
+    private int index;
     
-    /**
-     * The power level of the pigeon when it is born.
-     * 
-     * @see power
-     */
-    private double basePower;
     
     /**
-     * The x-coordinate of the top left corner of the pigeon.
-     */
-    private double x;
-    
-    /**
-     * The y-coordinate of the top left corner of the pigeon.
+     * This constructor method creates a new completely random pigeon.
      */
-    private double y;
+    public Pigeon ()
+    {
+        store = new PigeonStore (1, null);
+        index = store.addRandom ();
+        store.view (index); // Register this Object as the view of the new row
+    } // Pigeon() constructor
     
-    /**
-     * The maximum possible speed of the pigeon, in pixels per frame.
-     * This value increases as pigeons develop and gain more potential strength.
-     */
-    private double maxSpeed;
     
     /**
-     * The flying speed of the pigeon when it is born.
+     * This constructor method creates a baby pigeon from two breeding pigeons.
+     * The base stats of the baby pigeon are decided based on the base stats and mutation chances of the adult pigeons.
      * 
-     * @see maxSpeed
+     * @param p1 The first adult pigeon.
+     * @param p2 The second adult pigeon.
+     * @throw IllegalArgumentException If the two pigeons are unable to breed together.
      */
-    private double baseSpeed;
+    public Pigeon (Pigeon p1, Pigeon p2)
+    {
+        store = new PigeonStore (1, null);
+        index = store.addBaby (p1, p2);
+        store.view (index); // Register this Object as the view of the new row
+    } // Pigeon(Pigeon,Pigeon) constructor
     
-    /**
-     * Whether or not the pigeon has a disease.
-     * If a pigeon has a disease, its stats get lowered temporarily.
-     */
-    private boolean disease;
     
     /**
-     * A real number from 0.02 to 0.2 representing how prone the pigeon is to mutation.
-     */
-    private double mut;
-    
-    /**
-     * A real number from 0 to 1 representing how full the pigeon is.
-     * If this field reaches zero, the pigeon starves to death.
+     * This constructor method creates a view of a pigeon that already exists in a store.
+     * 
+     * @param store1 The store that holds the pigeon.
+     * @param index1 The index of the pigeon in the store.
      */
-    private double full;
+    Pigeon (PigeonStore store1, int index1)
+    {
+        store = store1;
+        index = index1;
+    } // Pigeon(PigeonStore,int) constructor
     
-    /**
-     * An integer representing the gender of the pigeon.
-     * 0 - male, 1 - female.
-     */
-    private int gender;
     
     /**
-     * The amount of breeding cooldown, in frames, that the pigeon has to wait for.
-     */
-    private int cooldown;
-
-    /**
-     * The distance at which a pigeon feels safe from a predator, in pixels.
-     */
-    static final double safety = 60;
-    
-    /**
-     * The pigeonhole that this pigeon is currently occupying.
-     * This value is equal to <code>null</code> if the pigeon is homeless.
+     * This method points the view at the pigeon's new row after the row has moved.
+     * 
+     * @param store1 The store that now holds the pigeon.
+     * @param index1 The index of the pigeon in the store.
      */
-    private Pigeonhole home;
+    void bind (PigeonStore store1, int index1)
+    {
+        store = store1;
+        index = index1;
+    } // bind(PigeonStore,int) method
     
     
     /**
-     * This constructor method creates a new completely random pigeon.
+     * This accessor method returns the store that holds the pigeon.
+     * 
+     * @return The value of the <code>store</code> field.
      */
-    public Pigeon ()
+    PigeonStore getStore ()
     {
-        // Randomize parameters
-        x = Math.random () * 635;
-        y = Math.random () * 555;
-        gender = (int) (Math.random () * 2);
-        baseMaxHP = Math.random () * 10 + 15;
-        basePower = Math.random () * 2 + 2;
-        baseSpeed = Math.random () * 0.6 + 1.2;
-        mut = Math.random () * 0.18 + 0.02;
-        disease = Math.random () < 0.01;
-        full = Math.random () * 0.5 + 0.5; // Starts off full but not too full
-        
-        // Fixed initial parameters
-        hp = maxHP = baseMaxHP;
-        power = basePower;
-        maxSpeed = baseSpeed;
-        age = cooldown = 0;
-        home = null;
-    } // Pigeon() constructor
+        return store;
+    } // getStore() method
     
     
     /**
-     * This constructor method creates a baby pigeon from two breeding pigeons.
-     * The base stats of the baby pigeon are decided based on the base stats and mutation chances of the adult pigeons.
+     * This accessor method returns the index of the pigeon in its store.
      * 
-     * @param p1 The first adult pigeon.
-     * @param p2 The second adult pigeon.
-     * @throw IllegalArgumentException If the two pigeons are unable to breed together.
+     * @return The value of the <code>index</code> field.
      */
-    public Pigeon (Pigeon p1, Pigeon p2)
+    int getIndex ()
     {
-        // Check for bad parents
-        if (p1.gender == p2.gender || p1.age < 1800 || p1.age >= 9000 || p2.age < 1800 || p2.age >= 9000)
-        {
-            throw new IllegalArgumentException ("The two pigeons cannot breed with each other.");
-        }
-        
-        // Take averages of base stats
-        baseMaxHP = (p1.baseMaxHP + p2.baseMaxHP) / 2;
-        basePower = (p1.basePower + p2.basePower) / 2;
-        baseSpeed = (p1.baseSpeed + p2.baseSpeed) / 2;
-        mut = (p1.mut + p2.mut) / 2;
-        // Get disease if either parent is diseased, otherwise get 1% chance of disease
-        disease = p1.disease || p2.disease || Math.random () < 0.01;
-        // Baby is born between two parent pigeons
-        x = (p1.x + p2.x) / 2;
-        y = (p1.y + p2.y) / 2;
-        
-        // Mutations
-        mut *= (Math.random () * 2 * mut + 1 - mut);
-        mut = Math.max (Math.min (0.2, mut), 0.02); // Keep between 0.02 and 0.2
-        baseMaxHP *= Math.random () * 2 * mut + 1 - mut;
-        basePower *= Math.random () * 2 * mut + 1 - mut;
-        baseSpeed *= Math.random () * 2 * mut + 1 - mut;
-        
-        full = Math.random () * 0.5 + 0.5; // Starts off full but not too full
-        gender = (int) (Math.random () * 2); // Random gender
-        
-        // Fixed initial parameters
-        hp = maxHP = baseMaxHP;
-        power = basePower;
-        maxSpeed = baseSpeed;
-        age = cooldown = 0;
-        home = null;
-    } // Pigeon(Pigeon,Pigeon) constructor
+        return index;
+    } // getIndex() method
     
     
     /**
      * This accessor method returns the mutation level of the pigeon.
      * 
-     * @return The value of the <code>mut</code> field.
-     * @see mut
+     * @return The value of the pigeon's <code>mut</code> column.
+     * @see PigeonStore.mut
      */
     public double getMut ()
     {
-        return mut;
+        return store.getMut (index);
     } // getMut() method
     
     
@@ -203,82 +131,82 @@ public class Pigeon
      * This accessor method returns the power level of the pigeon.
      * Note that the pigeon's power level gets cut by half if it has a disease.
      * 
-     * @return The value of the <code>power</code> field, divided by 2 if the pigeon has a disease.
-     * @see power
+     * @return The value of the pigeon's <code>power</code> column, divided by 2 if the pigeon has a disease.
+     * @see PigeonStore.power
      */
     public double getPower ()
     {
-        return power / (disease ? 2 : 1);
+        return store.getPower (index);
     } // getPower() method
     
     
     /**
      * This accessor method returns the base power level of the pigeon.
      * 
-     * @return The value of the <code>basePower</code> field.
-     * @see basePower
+     * @return The value of the pigeon's <code>basePower</code> column.
+     * @see PigeonStore.basePower
      */
     public double getBasePower ()
     {
-        return basePower;
+        return store.getBasePower (index);
     } // getBasePower() method
     
     
     /**
      * This accessor method returns the maximum HP for the pigeon.
      * 
-     * @return The value of the <code>maxHP</code> field.
-     * @see maxHP
+     * @return The value of the pigeon's <code>maxHP</code> column.
+     * @see PigeonStore.maxHP
      */
     public double getMaxHP ()
     {
-        return maxHP;
+        return store.getMaxHP (index);
     } // getMaxHP() method
     
     
     /**
      * This accessor method returns the base maximum HP of the pigeon.
      * 
-     * @return The value of the <code>baseMaxHP</code> field.
-     * @see baseMaxHP
+     * @return The value of the pigeon's <code>baseMaxHP</code> column.
+     * @see PigeonStore.baseMaxHP
      */
     public double getBaseHP ()
     {
-        return baseMaxHP;
+        return store.getBaseHP (index);
     } // getBaseHP() method
     
     
     /**
      * This accessor method return the x-coordinate of the pigeon.
      * 
-     * @see x
+     * @see PigeonStore.x
      */
     public double getX ()
     {
-        return x;
+        return store.getX (index);
     } // getX() method
     
     
     /**
      * This accessor method return the y-coordinate of the pigeon.
      * 
-     * @see y
+     * @see PigeonStore.y
      */
     public double getY ()
     {
-        return y;
+        return store.getY (index);
     } // getY() method
     
     
     /**
      * This accessor method returns a number representing how full the pigeon is.
      * 
-     * @return The value of the <code>full</code> field.
-     * @see full
+     * @return The value of the pigeon's <code>full</code> column.
+     * @see PigeonStore.full
      */
     public double getFull ()
     {
-        return full;
+        return store.getFull (index);
     } // getFull() method
     
     
@@ -286,47 +214,47 @@ public class Pigeon
      * This accessor method returns the maximum possible speed of the pigeon.
      * Note that the pigeon's speed gets cut by 75% if it has a disease.
      * 
-     * @return The value of the <code>maxSpeed</code> field, multiplied by 0.25 if the pigeon has a disease.
-     * @see maxSpeed
+     * @return The value of the pigeon's <code>maxSpeed</code> column, multiplied by 0.25 if the pigeon has a disease.
+     * @see PigeonStore.maxSpeed
      */
     public double getSpeed ()
     {
-        return maxSpeed * (disease ? 0.25 : 1);
+        return store.getSpeed (index);
     } // getSpeed() method
     
     
     /**
      * This accessor method returns the base speed of the pigeon.
      * 
-     * @return The value of the <code>baseSpeed</code> field.
-     * @see baseSpeed
+     * @return The value of the pigeon's <code>baseSpeed</code> column.
+     * @see PigeonStore.baseSpeed
      */
     public double getBaseSpeed ()
     {
-        return baseSpeed;
+        return store.getBaseSpeed (index);
     } // getBaseSpeed() method
     
     
     /**
      * This accessor method returns the age, in frames, of the pigeon.
      * 
-     * @return The value of the <code>age</code> field.
-     * @see age
+     * @return The value of the pigeon's <code>age</code> column.
+     * @see PigeonStore.age
      */
     public int getAge ()
     {
-        return age;
+        return store.getAge (index);
     } // getAge() method
     
     
     /**
      * This accessor method invades the pigeon's privacy and returns an integer representing its gender.
      * 
-     * @return The value of the <code>gender</code> field.
+     * @return The value of the pigeon's <code>gender</code> column.
      */
     public int getGender ()
     {
-        return gender;
+        return store.getGender (index);
     } // getGender() method
     
     
@@ -335,12 +263,12 @@ public class Pigeon
      * The pigeon dies by fighting other pigeons too much or by starving to death.
      * 
      * @return <code>true<code>, if and only if the pigeon is dead.
-     * @see hp
-     * @see full
+     * @see PigeonStore.hp
+     * @see PigeonStore.full
      */
     public boolean isDead ()
     {
-        return hp <= 0 || full <= 0;
+        return store.isDead (index);
     } // isDead() method
     
     
@@ -352,8 +280,20 @@ public class Pigeon
      */
     public boolean canBreed ()
     {
-        return age >= 1800 && age < 8850 && cooldown <= 0; // Also need to account for 150 frame breeding time
+        return store.canBreed (index);
     } // canBreed() method
+    
+    
+    /**
+     * This method determines whether or not the pigeon is old, which means at least 9000 frames old by default.
+     * 
+     * @return <code>true</code> if and only if the pigeon is old.
+     * @see SimulationConfig.oldAge
+     */
+    public boolean isOld ()
+    {
+        return store.isOld (index);
+    } // isOld() method
 
     
     /**
@@ -361,11 +301,11 @@ public class Pigeon
      * A pigeon is desperate if and only if it is less than 20% full.
      * 
      * @return <code>true</code> if and only if <code>full</code> is less than 0.20.
-     * @see full
+     * @see PigeonStore.full
      */
     public boolean isDesperate ()
     {
-        return full < 0.20;
+        return store.isDesperate (index);
     } // isDesperate() method
     
     
@@ -373,11 +313,11 @@ public class Pigeon
      * This method determines whether or not the pigeon is currently homeless.
      * 
      * @return <code>true</code> if and only if the pigeon is not currently inside a pigeonhole.
-     * @see home
+     * @see PigeonStore.home
      */
     public boolean isHomeless ()
     {
-        return home == null;
+        return store.isHomeless (index);
     } // isHomeless() method
     
     
@@ -385,11 +325,11 @@ public class Pigeon
      * This method determines whether or not the pigeon is busy creating a baby.
      * The pigeon is considered to be currently breeding if the cooldown time is at least 750.
      * 
-     * @see cooldown
+     * @see PigeonStore.cooldown
      */
     public boolean isBreeding ()
     {
-        return cooldown >= 750;
+        return store.isBreeding (index);
     } // isBreeding() method
     
     
@@ -397,47 +337,81 @@ public class Pigeon
      * This method determines whether or not the pigeon currently has a disease.
      * 
      * @return <code>true</code> if and only if the pigeon currently has a disease.
-     * @see disease
+     * @see PigeonStore.disease
      */
     public boolean isSick ()
     {
-        return disease;
+        return store.isSick (index);
     } // isSick() method
     
     
     /**
-     * This method displays the pigeon using a given Graphics.
+     * This method displays the pigeon using a given Graphics, shaded by a given stat.
+     * 
+     * @param g The Graphics that will draw stuff.
+     * @param mode The stat that the pigeon is shaded by.
+     */
+    public void display (Graphics g, DisplayMode mode)
+    {
+        display (g, (int) getX (), (int) getY (), PALETTE[getGender ()][mode.level (store, index)]);
+    } // display(Graphics,DisplayMode) method
+    
+    
+    /**
+     * This method displays a pigeon at a given location using a given Graphics, without needing a view of the pigeon.
      * 
      * @param g The Graphics that will draw stuff.
+     * @param x The x-coordinate of the top left corner of the pigeon.
+     * @param y The y-coordinate of the top left corner of the pigeon.
+     * @param rgb The colour of the pigeon, as <code>0xRRGGBB</code>.
+     * @see PALETTE
      */
-    public void display (Graphics g)
+    static void display (Graphics g, int x, int y, int rgb)
     {
         // Draw a small square to represent pigeon
-        double scale = 0;
-        if (PigeonholeSimulation.displayCB.getSelectedItem ().equals ("Individual fullness"))
-        {
-            scale = 2 * Math.min (0.5, full); // Darkness depends on fullness
-        }
-        else if (PigeonholeSimulation.displayCB.getSelectedItem ().equals ("Individual HP"))
-        {
-            scale = hp / maxHP; // Darkness depends on HP
-        }
-        else if (PigeonholeSimulation.displayCB.getSelectedItem ().equals ("Individual disease"))
+        g.setColor (new Color (rgb));
+        g.fillRect (x, y, 5, 5);
+    } // display(Graphics,int,int,int) method
+    
+    
+    /**
+     * This method calculates every colour that a pigeon of each gender can be drawn with.
+     * 
+     * @return The colours, as <code>0xRRGGBB</code>, by gender and then by level of brightness.
+     * @see DisplayMode.level(PigeonStore,int)
+     */
+    private static int[][] palette ()
+    {
+        int[][] palette = new int[2][DisplayMode.LEVELS];
+        for (int gender = 0; gender < 2; gender++)
         {
-            scale = disease ? 0.5 : 1; // Darkness depends on disease
+            for (int level = 0; level < DisplayMode.LEVELS; level++)
+            {
+                palette[gender][level] = rgb (gender, (double) level / (DisplayMode.LEVELS - 1));
+            }
         }
+        return palette;
+    } // palette() method
+    
+    
+    /**
+     * This method calculates the colour of a pigeon.
+     * 
+     * @param gender An integer representing the gender of the pigeon.
+     * @param scale How light the pigeon should be drawn, from 0 to 1.
+     * @return The red, green and blue parts of the colour, packed into one integer as <code>0xRRGGBB</code>.
+     */
+    private static int rgb (int gender, double scale)
+    {
         if (gender == 0) // Male pigeon
         {
-            // Blue colour, darkness depends on fullness
-            g.setColor (new Color ((int) (scale * 200), (int) (scale * 200), (int) (scale * 255))); // Blue colour
+            return ((int) (scale * 200) << 16) | ((int) (scale * 200) << 8) | (int) (scale * 255); // Blue colour
         }
         else // Female pigeon
         {
-            // Pink colour, darkness depends on HP
-            g.setColor (new Color ((int) (scale * 255), (int) (scale * 200), (int) (scale * 200))); // Pink colour
+            return ((int) (scale * 255) << 16) | ((int) (scale * 200) << 8) | (int) (scale * 200); // Pink colour
         }
-        g.fillRect ((int) x, (int) y, 5, 5);
-    } // display(Graphics) method
+    } // rgb(int,double) method
     
     
     /**
@@ -449,41 +423,7 @@ public class Pigeon
      */
     public void attack (Pigeon other)
     {
-        this.hp -= other.getPower ();
-        this.disease |= other.disease && (Math.random () < 0.1); // 10% chance of transmitting disease
-        other.hp -= this.getPower ();
-        other.disease |= this.disease && (Math.random () < 0.1); // 10% chance of transmitting disease
-        
-        if (other.hp <= 0 && this.hp / other.getPower () >= other.hp / this.getPower ())
-        {
-            // Gain stats from growing stronger
-            this.power *= 1.2;
-            this.maxSpeed *= 1.05;
-            
-            // Only desperate or almost dead pigeons should eat diseased pigeons
-            if (this.isDesperate () || this.isDead () || !other.disease)
-            {
-                // Gain stats from eating pigeon
-                this.full = 1.5;
-                this.hp = Math.min (this.hp + this.maxHP / 2, this.maxHP);
-                this.disease |= other.disease; // Eating diseased pigeons leads to disease transmission
-            }
-        }
-        if (this.hp <= 0 && other.hp / this.getPower () >= this.hp / other.getPower ())
-        {
-            // Gain stats from growing stronger
-            other.power *= 1.2;
-            other.maxSpeed *= 1.05;
-            
-            // Only desperate or almost dead pigeonsshould eat diseased pigeons
-            if (other.isDesperate () || other.isDead () || !this.disease)
-            {
-                // Gain stats from eating pigeon
-                other.full = 1.5;
-                other.hp = Math.min (other.hp + other.maxHP / 2, other.maxHP);
-                other.disease |= this.disease; // Eating diseased pigeons leads to disease transmission
-            }
-        }
+        store.attack (index, other.store, other.index);
     } // attack(Pigeon) method
     
     
@@ -496,41 +436,7 @@ public class Pigeon
      */
     public void move (double dx, double dy)
     {
-        if (home != null) // Currently has a home
-        {
-            return; // Don't move at all
-        }
-        
-        // Check boundaries
-        if (x + dx < 0)
-        {
-            dx = -x;
-        }
-        if (x + dx > 635)
-        {
-            dx = 635 - x;
-        }
-        if (y + dy < 0)
-        {
-            dy = -y;
-        }
-        if (y + dy > 635)
-        {
-            dy = 635 - y;
-        }
-        
-        // Check to see if maximum speed is exceeded
-        double dist = Math.sqrt (dx * dx + dy * dy);
-        if (dist > getSpeed ())
-        {
-            // Scale down the motion vector
-            dx *= getSpeed () / dist;
-            dy *= getSpeed () / dist;
-        }
-        
-        // Change the position fields
-        x += dx;
-        y += dy;
+        store.move (index, dx, dy);
     } // move() method
     
     
@@ -539,28 +445,7 @@ public class Pigeon
      */
     public void checkHealth ()
     {
-        // Continuous processes
-        cooldown = Math.max (cooldown - 1, 0);
-        age++;
-        if (!disease) // Regenerates health if and only if no disease
-        {
-            hp = Math.min (hp + maxHP / 1200, maxHP);
-        }
-        if (disease && Math.random () < 1.0 / 2000) // One in 2000 chance of clearing disease
-        {
-            disease = false;
-        }
-        full -= 0.001; // Need to eat approximately one food every 1000 frames
-        
-        // Age processes
-        if (age >= 9000) // Old pigeon
-        {
-            power = Math.max (0, power - 1.0 / 1800);
-            maxHP = Math.max (0, maxHP - 1.0 / 450);
-            hp = Math.min (hp, maxHP);
-            maxSpeed = Math.max (maxSpeed - 0.0001, 0);
-            disease = disease || (Math.random () < (age - 9000) / 450.0 * 0.0001); // Chance of catching disease
-        }
+        store.checkHealth (index);
     } // checkHealth() method
     
     
@@ -568,15 +453,26 @@ public class Pigeon
      * This method helps the pigeon whenever the pigeon eats a piece of food.
      * In particular, the pigeon restores half of its fullness and 20% of its max HP is regenerated.
      * 
-     * @see full
+     * @see PigeonStore.full
      */
     public void eat ()
     {
-        full += 0.5;
-        hp = Math.min (maxHP, hp + maxHP / 5);
+        store.eat (index);
     }
     
     
+    /**
+     * This method activates whenever the pigeon gets caught by a predator.
+     * The pigeon is dead afterwards, and it should be removed from the colony.
+     * 
+     * @see isDead()
+     */
+    public void getEaten ()
+    {
+        store.kill (index);
+    } // getEaten() method
+    
+    
     /**
      * This method makes the pigeon enter a given pigeonhole.
      * This method does nothing if the pigeon is already inside a pigeonhole.
@@ -586,14 +482,7 @@ public class Pigeon
      */
     public void enterHole (Pigeonhole hole)
     {
-        if (home != null) // Already has a home
-        {
-            return;
-        }
-        
-        // Enter the hole
-        home = hole;
-        hole.fill (this);
+        store.enterHole (index, hole);
     } // enterHole(Pigeonhole) method
     
     
@@ -605,12 +494,7 @@ public class Pigeon
      */
     public void exitHole ()
     {
-        if (home != null)
-        {
-            // Make the pigeon homeless
-            home.release (this);
-            home = null;
-        }
+        store.exitHole (index);
     } // exitHole() method
     
     
@@ -621,12 +505,7 @@ public class Pigeon
      */
     public void startBreeding ()
     {
-        if (!canBreed ())
-        {
-            throw new IllegalArgumentException ("This pigeon is not able to breed.");
-        }
-        
-        cooldown = 900; // Activate cooldown
+        store.startBreeding (index);
     } // startBreeding() method
     
     
@@ -639,21 +518,7 @@ public class Pigeon
      */
     public boolean isSafe (ArrayList<Predator> predators)
     {
-        if (home != null)
-        {
-            return true; // Pigeon is safe inside pigeonhole
-        }
-        for (int i = 0; i < predators.size (); i++)
-        {
-            Predator p = predators.get (i);
-            double dist = Math.sqrt ((x - p.getX ()) * (x - p.getX ()) + (y - p.getY ()) * (y - p.getY ()));
-            
-            if (dist <= safety) // Check for unsafe distance
-            {
-                return false;
-            }
-        }
-        return true; // All the predators are a safe distance away
+        return store.isSafe (index, predators);
     } // isSafe(ArrayList<Predator>) method
 
     
@@ -667,6 +532,22 @@ public class Pigeon
      * @see safety
      */
     public static boolean isSafe (ArrayList<Predator> predators, double X, double Y)
+    {
+        return isSafe (predators, X, Y, safety);
+    } // isSafe(ArrayList<Predator>,double,double) method
+    
+    
+    /**
+     * This method determines whether or not a pigeon would feel safe at a given location,
+     * given the distance at which pigeons feel safe from predators.
+     * 
+     * @param predators The given list of predators in the world.
+     * @param X The x-coordinate of the given location.
+     * @param Y The y-coordinate of the given location.
+     * @param safety The distance at which a pigeon feels safe from a predator, in pixels.
+     * @return <code>true</code> if and only if none of the predators makes the given location unsafe.
+     */
+    public static boolean isSafe (ArrayList<Predator> predators, double X, double Y, double safety)
     {
         for (Predator p : predators)
         {
@@ -678,5 +559,5 @@ public class Pigeon
             }
         }
         return true; // All the predators are a safe distance away
-    } // isSafe(ArrayList<Predator>,double,double) method
+    } // isSafe(ArrayList<Predator>,double,double,double) method
 } // Pigeon class
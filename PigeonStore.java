@@ -0,0 +1,1268 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A store that holds the state of many pigeons in parallel arrays, one array per field, instead of one Object per pigeon.
+ * Each pigeon is identified by its index in the arrays, which changes whenever an earlier pigeon is removed.
+ * Loops over every pigeon read one array from start to end, which is much faster than following a reference
+ * to a separate Object for every pigeon, and the store needs far less memory than the same number of Objects.
+ * 
+ * Pigeon Objects are only created when something needs to hold on to a particular pigeon, such as a pigeonhole.
+ * Each such Pigeon is a view of one row of the store, and it keeps pointing to the same pigeon when rows move.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class PigeonStore
+{
+    /**
+     * The number of pigeons in the store.
+     */
+    private int size;
+    
+    /**
+     * The x-coordinate of the top left corner of each pigeon.
+     */
+    private double[] x;
+    
+    /**
+     * The y-coordinate of the top left corner of each pigeon.
+     */
+    private double[] y;
+    
+    /**
+     * The amount of health points that each pigeon has.
+     * This value drops when the pigeon fights and increases when the pigeon heals.
+     * The pigeon dies if it has no health points left.
+     */
+    private double[] hp;
+    
+    /**
+     * The maximum possible HP that each pigeon could possibly have.
+     * This value increases as pigeons develop and gain more potential strength.
+     */
+    private double[] maxHP;
+    
+    /**
+     * The maximum possible HP of each pigeon when it was born.
+     */
+    private double[] baseMaxHP;
+    
+    /**
+     * The power level of each pigeon.
+     * This value increases as pigeons develop and gain more potential strength.
+     */
+    private double[] power;
+    
+    /**
+     * The power level of each pigeon when it was born.
+     */
+    private double[] basePower;
+    
+    /**
+     * The maximum possible speed of each pigeon, in pixels per frame.
+     * This value increases as pigeons develop and gain more potential strength.
+     */
+    private double[] maxSpeed;
+    
+    /**
+     * The flying speed of each pigeon when it was born.
+     */
+    private double[] baseSpeed;
+    
+    /**
+     * A real number from 0.02 to 0.2 representing how prone each pigeon is to mutation.
+     */
+    private double[] mut;
+    
+    /**
+     * A real number from 0 to 1 representing how full each pigeon is.
+     * If this value reaches zero, the pigeon starves to death.
+     */
+    private double[] full;
+    
+    /**
+     * The age of each pigeon, in frames.
+     * If pigeons get too old, they will start getting weaker.
+     */
+    private int[] age;
+    
+    /**
+     * The amount of breeding cooldown, in frames, that each pigeon has to wait for.
+     */
+    private int[] cooldown;
+    
+    /**
+     * The number of the pigeonhole in the grid that each pigeon is currently occupying, or -1 if the pigeon is homeless.
+     * 
+     * @see HoleGrid.get(int)
+     */
+    private int[] home;
+    
+    /**
+     * An integer representing the gender of each pigeon.
+     * 0 - male, 1 - female.
+     */
+    private byte[] gender;
+    
+    /**
+     * Whether or not each pigeon has a disease.
+     * If a pigeon has a disease, its stats get lowered temporarily.
+     */
+    private boolean[] disease;
+    
+    /**
+     * The state of the random number stream of each pigeon.
+     * Each pigeon draws every random number that affects it from its own stream, so the order in which
+     * pigeons are simulated on different threads can never change the numbers they get.
+     */
+    private long[] seed;
+    
+    /**
+     * The random number stream that new pigeons are created from.
+     */
+    private SplittableRandom random;
+    
+    /**
+     * The Pigeon view of each pigeon, or <code>null</code> if no view has been created for the pigeon yet.
+     */
+    private Pigeon[] views;
+    
+    /**
+     * Whether or not each pigeon was resting in its pigeonhole as of the last update of the resting pigeons.
+     * 
+     * @see updateResting()
+     */
+    private boolean[] resting;
+    
+    /**
+     * Whether or not each pigeon is in the list of pigeons to look at again in the next update of the resting pigeons.
+     */
+    private boolean[] restPending;
+    
+    /**
+     * The indices of the pigeons that entered or left a pigeonhole, started or finished breeding, got hungry
+     * or died since the last update of the resting pigeons. Only these pigeons can have started or stopped resting.
+     */
+    private int[] restChanges;
+    
+    /**
+     * The number of pigeons in the list of pigeons to look at again.
+     */
+    private int restChangeCount;
+    
+    /**
+     * Whether or not any pigeon was added, removed, or started or stopped resting since the last update of the resting pigeons.
+     */
+    private boolean restStale;
+    
+    /**
+     * The breeding time that the resting pigeons were last updated with.
+     * Changing the breeding time changes which pigeons are breeding, so every pigeon has to be looked at again.
+     */
+    private int restBreedTime;
+    
+    /**
+     * The grid of pigeonholes that the pigeons can live in, or <code>null</code> if the pigeons can't enter pigeonholes.
+     */
+    private HoleGrid grid;
+    
+    /**
+     * The settings that decide when the pigeons can breed and when they become old.
+     */
+    private SimulationConfig config;
+    
+    /**
+     * The settings that stores use when they are not given any.
+     */
+    private static final SimulationConfig DEFAULTS = new SimulationConfig ();
+    
+    
+    /**
+     * This constructor method creates a new empty store whose pigeons are created from an unseeded random number stream.
+     * 
+     * @param capacity The number of pigeons that the store should have room for at first.
+     * @param grid1 The grid of pigeonholes that the pigeons can live in, or <code>null</code> if there is none.
+     */
+    public PigeonStore (int capacity, HoleGrid grid1)
+    {
+        this (capacity, grid1, new SplittableRandom ());
+    } // PigeonStore(int,HoleGrid) constructor
+    
+    
+    /**
+     * This constructor method creates a new empty store whose pigeons are created from a given random number stream.
+     * 
+     * @param capacity The number of pigeons that the store should have room for at first.
+     * @param grid1 The grid of pigeonholes that the pigeons can live in, or <code>null</code> if there is none.
+     * @param random1 The random number stream that new pigeons are created from.
+     */
+    public PigeonStore (int capacity, HoleGrid grid1, SplittableRandom random1)
+    {
+        this (capacity, grid1, random1, DEFAULTS);
+    } // PigeonStore(int,HoleGrid,SplittableRandom) constructor
+    
+    
+    /**
+     * This constructor method creates a new empty store whose pigeons follow the rules of given settings.
+     * 
+     * @param capacity The number of pigeons that the store should have room for at first.
+     * @param grid1 The grid of pigeonholes that the pigeons can live in, or <code>null</code> if there is none.
+     * @param random1 The random number stream that new pigeons are created from.
+     * @param config1 The settings that decide when the pigeons can breed and when they become old.
+     */
+    public PigeonStore (int capacity, HoleGrid grid1, SplittableRandom random1, SimulationConfig config1)
+    {
+        size = 0;
+        grid = grid1;
+        random = random1;
+        config = config1;
+        capacity = Math.max (1, capacity);
+        x = new double[capacity];
+        y = new double[capacity];
+        hp = new double[capacity];
+        maxHP = new double[capacity];
+        baseMaxHP = new double[capacity];
+        power = new double[capacity];
+        basePower = new double[capacity];
+        maxSpeed = new double[capacity];
+        baseSpeed = new double[capacity];
+        mut = new double[capacity];
+        full = new double[capacity];
+        age = new int[capacity];
+        cooldown = new int[capacity];
+        home = new int[capacity];
+        gender = new byte[capacity];
+        disease = new boolean[capacity];
+        seed = new long[capacity];
+        views = new Pigeon[capacity];
+        resting = new boolean[capacity];
+        restPending = new boolean[capacity];
+        restChanges = new int[capacity];
+        restChangeCount = 0;
+        restStale = false;
+        restBreedTime = config.getBreedTime ();
+    } // PigeonStore(int,HoleGrid,SplittableRandom,SimulationConfig) constructor
+    
+    
+    /**
+     * This accessor method returns the settings that decide when the pigeons can breed and when they become old.
+     * 
+     * @return The value of the <code>config</code> field.
+     * @see config
+     */
+    public SimulationConfig getConfig ()
+    {
+        return config;
+    } // getConfig() method
+    
+    
+    /**
+     * This method calculates the number of pigeons in the store.
+     * 
+     * @return The number of pigeons in the store.
+     */
+    public int size ()
+    {
+        return size;
+    } // size() method
+    
+    
+    /**
+     * This method makes sure that the store has room for at least a given number of pigeons.
+     * 
+     * @param capacity The number of pigeons that the store needs room for.
+     */
+    public void ensureCapacity (int capacity)
+    {
+        if (capacity <= x.length)
+        {
+            return; // Already enough room
+        }
+        
+        capacity = Math.max (capacity, x.length * 2); // Grow geometrically so that adding pigeons stays cheap
+        x = Arrays.copyOf (x, capacity);
+        y = Arrays.copyOf (y, capacity);
+        hp = Arrays.copyOf (hp, capacity);
+        maxHP = Arrays.copyOf (maxHP, capacity);
+        baseMaxHP = Arrays.copyOf (baseMaxHP, capacity);
+        power = Arrays.copyOf (power, capacity);
+        basePower = Arrays.copyOf (basePower, capacity);
+        maxSpeed = Arrays.copyOf (maxSpeed, capacity);
+        baseSpeed = Arrays.copyOf (baseSpeed, capacity);
+        mut = Arrays.copyOf (mut, capacity);
+        full = Arrays.copyOf (full, capacity);
+        age = Arrays.copyOf (age, capacity);
+        cooldown = Arrays.copyOf (cooldown, capacity);
+        home = Arrays.copyOf (home, capacity);
+        gender = Arrays.copyOf (gender, capacity);
+        disease = Arrays.copyOf (disease, capacity);
+        seed = Arrays.copyOf (seed, capacity);
+        views = Arrays.copyOf (views, capacity);
+        resting = Arrays.copyOf (resting, capacity);
+        restPending = Arrays.copyOf (restPending, capacity);
+        restChanges = Arrays.copyOf (restChanges, capacity);
+    } // ensureCapacity(int) method
+    
+    
+    /**
+     * This method adds a new row to the end of the store, with the fixed initial parameters of a newborn pigeon.
+     * The randomized parameters still need to be filled in.
+     * 
+     * @return The index of the new row.
+     */
+    private int addRow ()
+    {
+        ensureCapacity (size + 1);
+        int i = size++;
+        age[i] = cooldown[i] = 0;
+        home[i] = -1;
+        views[i] = null;
+        resting[i] = restPending[i] = false;
+        seed[i] = random.nextLong (); // Every pigeon gets its own random number stream
+        restStale = true;
+        return i;
+    } // addRow() method
+    
+    
+    /**
+     * This method sets the current stats of a new pigeon to its base stats.
+     * 
+     * @param i The index of the pigeon.
+     */
+    private void resetStats (int i)
+    {
+        hp[i] = maxHP[i] = baseMaxHP[i];
+        power[i] = basePower[i];
+        maxSpeed[i] = baseSpeed[i];
+    } // resetStats(int) method
+    
+    
+    /**
+     * This method adds a new completely random pigeon to the store.
+     * 
+     * @return The index of the new pigeon.
+     */
+    public int addRandom ()
+    {
+        int i = addRow ();
+        
+        // Randomize parameters
+        x[i] = random (i) * 635;
+        y[i] = random (i) * 555;
+        gender[i] = (byte) (random (i) * 2);
+        baseMaxHP[i] = random (i) * 10 + 15;
+        basePower[i] = random (i) * 2 + 2;
+        baseSpeed[i] = random (i) * 0.6 + 1.2;
+        mut[i] = random (i) * 0.18 + 0.02;
+        disease[i] = random (i) < 0.01;
+        full[i] = random (i) * 0.5 + 0.5; // Starts off full but not too full
+        
+        resetStats (i);
+        return i;
+    } // addRandom() method
+    
+    
+    /**
+     * This method adds a baby pigeon of two breeding pigeons to the store.
+     * The base stats of the baby pigeon are decided based on the base stats and mutation chances of the adult pigeons.
+     * 
+     * @param p1 The first adult pigeon.
+     * @param p2 The second adult pigeon.
+     * @return The index of the new pigeon.
+     * @throw IllegalArgumentException If the two pigeons are unable to breed together.
+     */
+    public int addBaby (Pigeon p1, Pigeon p2)
+    {
+        // Check for bad parents
+        if (p1.getGender () == p2.getGender () || p1.getAge () < config.getBreedingAge () || p1.isOld ()
+            || p2.getAge () < config.getBreedingAge () || p2.isOld ())
+        {
+            throw new IllegalArgumentException ("The two pigeons cannot breed with each other.");
+        }
+        
+        int i = addRow ();
+        
+        // Take averages of base stats
+        double hp1 = (p1.getBaseHP () + p2.getBaseHP ()) / 2;
+        double power1 = (p1.getBasePower () + p2.getBasePower ()) / 2;
+        double speed1 = (p1.getBaseSpeed () + p2.getBaseSpeed ()) / 2;
+        double mut1 = (p1.getMut () + p2.getMut ()) / 2;
+        // Get disease if either parent is diseased, otherwise get 1% chance of disease
+        disease[i] = p1.isSick () || p2.isSick () || random (i) < 0.01;
+        // Baby is born between two parent pigeons
+        x[i] = (p1.getX () + p2.getX ()) / 2;
+        y[i] = (p1.getY () + p2.getY ()) / 2;
+        
+        // Mutations
+        mut1 *= (random (i) * 2 * mut1 + 1 - mut1);
+        mut1 = Math.max (Math.min (0.2, mut1), 0.02); // Keep between 0.02 and 0.2
+        hp1 *= random (i) * 2 * mut1 + 1 - mut1;
+        power1 *= random (i) * 2 * mut1 + 1 - mut1;
+        speed1 *= random (i) * 2 * mut1 + 1 - mut1;
+        mut[i] = mut1;
+        baseMaxHP[i] = hp1;
+        basePower[i] = power1;
+        baseSpeed[i] = speed1;
+        
+        full[i] = random (i) * 0.5 + 0.5; // Starts off full but not too full
+        gender[i] = (byte) (random (i) * 2); // Random gender
+        
+        resetStats (i);
+        return i;
+    } // addBaby(Pigeon,Pigeon) method
+    
+    
+    /**
+     * This method moves a pigeon from another store into this store.
+     * The pigeon's view keeps working, and now points into this store.
+     * 
+     * @param pigeon The pigeon to be moved.
+     * @return The index of the pigeon in this store.
+     * @throw IllegalArgumentException If the pigeon is living in a pigeonhole that is not part of this store's grid.
+     */
+    public int adopt (Pigeon pigeon)
+    {
+        PigeonStore from = pigeon.getStore ();
+        int j = pigeon.getIndex ();
+        if (from == this)
+        {
+            return j; // Already here
+        }
+        if (from.home[j] != -1 && from.grid != grid)
+        {
+            throw new IllegalArgumentException ("The pigeon lives in a pigeonhole outside of this world.");
+        }
+        
+        int i = addRow ();
+        copyRow (from, j, i);
+        from.removeRow (j, false);
+        views[i] = pigeon;
+        pigeon.bind (this, i);
+        restChanged (i); // May have come in resting under another store's breeding time
+        return i;
+    } // adopt(Pigeon) method
+    
+    
+    /**
+     * This method copies every field of a pigeon from one row to another, except for its view.
+     * 
+     * @param from The store that the pigeon is copied from.
+     * @param j The index of the pigeon in the store that it is copied from.
+     * @param i The index of the row in this store that the pigeon is copied to.
+     */
+    private void copyRow (PigeonStore from, int j, int i)
+    {
+        x[i] = from.x[j];
+        y[i] = from.y[j];
+        hp[i] = from.hp[j];
+        maxHP[i] = from.maxHP[j];
+        baseMaxHP[i] = from.baseMaxHP[j];
+        power[i] = from.power[j];
+        basePower[i] = from.basePower[j];
+        maxSpeed[i] = from.maxSpeed[j];
+        baseSpeed[i] = from.baseSpeed[j];
+        mut[i] = from.mut[j];
+        full[i] = from.full[j];
+        age[i] = from.age[j];
+        cooldown[i] = from.cooldown[j];
+        home[i] = from.home[j];
+        gender[i] = from.gender[j];
+        disease[i] = from.disease[j];
+        seed[i] = from.seed[j];
+        resting[i] = from.resting[j];
+        restPending[i] = false; // Rows in the list of pigeons to look at again are only moved by the store itself
+    } // copyRow(PigeonStore,int,int) method
+    
+    
+    /**
+     * This method draws the next random number from a pigeon's own random number stream.
+     * The stream is a SplitMix64 generator, which is the same generator that SplittableRandom uses.
+     * 
+     * @param i The index of the pigeon.
+     * @return A random number from 0 (inclusive) to 1 (exclusive).
+     */
+    private double random (int i)
+    {
+        long z = (seed[i] += 0x9e3779b97f4a7c15L);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        z = z ^ (z >>> 31);
+        return (z >>> 11) * 0x1.0p-53;
+    } // random(int) method
+    
+    
+    /**
+     * This method returns a Pigeon view of a pigeon in the store, creating the view if it doesn't exist yet.
+     * 
+     * @param i The index of the pigeon.
+     * @return The Pigeon that represents the pigeon.
+     */
+    public Pigeon view (int i)
+    {
+        if (views[i] == null)
+        {
+            views[i] = new Pigeon (this, i);
+        }
+        return views[i];
+    } // view(int) method
+    
+    
+    /**
+     * This method removes a pigeon from the store.
+     * Every pigeon after the removed pigeon moves one index earlier.
+     * If the pigeon has a view, the view keeps the pigeon's last state but no longer belongs to this store.
+     * 
+     * @param i The index of the pigeon to be removed.
+     */
+    public void remove (int i)
+    {
+        removeRow (i, true);
+    } // remove(int) method
+    
+    
+    /**
+     * This method removes a row from the store and shifts the following rows to fill the gap.
+     * 
+     * @param i The index of the row to be removed.
+     * @param keepView Whether or not the row's view should be given its own copy of the row.
+     */
+    private void removeRow (int i, boolean keepView)
+    {
+        if (keepView)
+        {
+            detach (i);
+        }
+        
+        int count = size - i - 1; // Number of rows after the removed row
+        System.arraycopy (x, i + 1, x, i, count);
+        System.arraycopy (y, i + 1, y, i, count);
+        System.arraycopy (hp, i + 1, hp, i, count);
+        System.arraycopy (maxHP, i + 1, maxHP, i, count);
+        System.arraycopy (baseMaxHP, i + 1, baseMaxHP, i, count);
+        System.arraycopy (power, i + 1, power, i, count);
+        System.arraycopy (basePower, i + 1, basePower, i, count);
+        System.arraycopy (maxSpeed, i + 1, maxSpeed, i, count);
+        System.arraycopy (baseSpeed, i + 1, baseSpeed, i, count);
+        System.arraycopy (mut, i + 1, mut, i, count);
+        System.arraycopy (full, i + 1, full, i, count);
+        System.arraycopy (age, i + 1, age, i, count);
+        System.arraycopy (cooldown, i + 1, cooldown, i, count);
+        System.arraycopy (home, i + 1, home, i, count);
+        System.arraycopy (gender, i + 1, gender, i, count);
+        System.arraycopy (disease, i + 1, disease, i, count);
+        System.arraycopy (seed, i + 1, seed, i, count);
+        System.arraycopy (views, i + 1, views, i, count);
+        System.arraycopy (resting, i + 1, resting, i, count);
+        System.arraycopy (restPending, i + 1, restPending, i, count);
+        size--;
+        views[size] = null;
+        restStale = true;
+        
+        // Loop to shift the pigeons to look at again along with their rows
+        int kept = 0;
+        for (int k = 0; k < restChangeCount; k++)
+        {
+            if (restChanges[k] != i)
+            {
+                restChanges[kept++] = (restChanges[k] > i) ? restChanges[k] - 1 : restChanges[k];
+            }
+        }
+        restChangeCount = kept;
+        
+        // Loop to tell the views of the moved rows where their pigeons are now
+        for (int j = i; j < size; j++)
+        {
+            if (views[j] != null)
+            {
+                views[j].bind (this, j);
+            }
+        }
+    } // removeRow(int,boolean) method
+    
+    
+    /**
+     * This method removes every dead pigeon from the store in a single pass.
+     * The remaining pigeons stay in the same order.
+     * 
+     * @return The number of pigeons that were removed.
+     */
+    public int removeDead ()
+    {
+        int kept = 0;
+        restChangeCount = 0; // The list of pigeons to look at again is rebuilt with the new indices
+        for (int i = 0; i < size; i++)
+        {
+            if (isDead (i))
+            {
+                detach (i);
+            }
+            else
+            {
+                if (kept != i) // Slide the pigeon into the first free row
+                {
+                    copyRow (this, i, kept);
+                    restPending[kept] = restPending[i];
+                    views[kept] = views[i];
+                    if (views[kept] != null)
+                    {
+                        views[kept].bind (this, kept);
+                    }
+                }
+                if (restPending[kept])
+                {
+                    restChanges[restChangeCount++] = kept;
+                }
+                kept++;
+            }
+        }
+        
+        int removed = size - kept;
+        Arrays.fill (views, kept, size, null);
+        size = kept;
+        restStale |= removed > 0;
+        return removed;
+    } // removeDead() method
+    
+    
+    /**
+     * This method gives the view of a pigeon that is about to be removed its own copy of the pigeon,
+     * so that anything still holding on to the view can see the pigeon's last state.
+     * 
+     * @param i The index of the pigeon.
+     */
+    private void detach (int i)
+    {
+        if (views[i] != null)
+        {
+            PigeonStore own = new PigeonStore (1, grid, new SplittableRandom (), config);
+            int j = own.addRow ();
+            own.copyRow (this, i, j);
+            own.views[j] = views[i];
+            views[i].bind (own, j);
+            views[i] = null;
+        }
+    } // detach(int) method
+    
+    
+    /**
+     * This accessor method returns the x-coordinate of a pigeon.
+     * 
+     * @param i The index of the pigeon.
+     * @return The x-coordinate of the top left corner of the pigeon.
+     */
+    public double getX (int i)
+    {
+        return x[i];
+    } // getX(int) method
+    
+    
+    /**
+     * This accessor method returns the y-coordinate of a pigeon.
+     * 
+     * @param i The index of the pigeon.
+     * @return The y-coordinate of the top left corner of the pigeon.
+     */
+    public double getY (int i)
+    {
+        return y[i];
+    } // getY(int) method
+    
+    
+    /**
+     * This accessor method returns the amount of health points that a pigeon has.
+     * 
+     * @param i The index of the pigeon.
+     * @return The HP of the pigeon.
+     */
+    public double getHP (int i)
+    {
+        return hp[i];
+    } // getHP(int) method
+    
+    
+    /**
+     * This accessor method returns the maximum HP of a pigeon.
+     * 
+     * @param i The index of the pigeon.
+     * @return The maximum HP of the pigeon.
+     */
+    public double getMaxHP (int i)
+    {
+        return maxHP[i];
+    } // getMaxHP(int) method
+    
+    
+    /**
+     * This accessor method returns the base maximum HP of a pigeon.
+     * 
+     * @param i The index of the pigeon.
+     * @return The maximum HP of the pigeon when it was born.
+     */
+    public double getBaseHP (int i)
+    {
+        return baseMaxHP[i];
+    } // getBaseHP(int) method
+    
+    
+    /**
+     * This accessor method returns the power level of a pigeon.
+     * Note that the pigeon's power level gets cut by half if it has a disease.
+     * 
+     * @param i The index of the pigeon.
+     * @return The power level of the pigeon, divided by 2 if the pigeon has a disease.
+     */
+    public double getPower (int i)
+    {
+        return power[i] / (disease[i] ? 2 : 1);
+    } // getPower(int) method
+    
+    
+    /**
+     * This accessor method returns the base power level of a pigeon.
+     * 
+     * @param i The index of the pigeon.
+     * @return The power level of the pigeon when it was born.
+     */
+    public double getBasePower (int i)
+    {
+        return basePower[i];
+    } // getBasePower(int) method
+    
+    
+    /**
+     * This accessor method returns the maximum possible speed of a pigeon.
+     * Note that the pigeon's speed gets cut by 75% if it has a disease.
+     * 
+     * @param i The index of the pigeon.
+     * @return The maximum speed of the pigeon, multiplied by 0.25 if the pigeon has a disease.
+     */
+    public double getSpeed (int i)
+    {
+        return maxSpeed[i] * (disease[i] ? 0.25 : 1);
+    } // getSpeed(int) method
+    
+    
+    /**
+     * This accessor method returns the base speed of a pigeon.
+     * 
+     * @param i The index of the pigeon.
+     * @return The speed of the pigeon when it was born.
+     */
+    public double getBaseSpeed (int i)
+    {
+        return baseSpeed[i];
+    } // getBaseSpeed(int) method
+    
+    
+    /**
+     * This accessor method returns the mutation level of a pigeon.
+     * 
+     * @param i The index of the pigeon.
+     * @return The mutation level of the pigeon.
+     */
+    public double getMut (int i)
+    {
+        return mut[i];
+    } // getMut(int) method
+    
+    
+    /**
+     * This accessor method returns a number representing how full a pigeon is.
+     * 
+     * @param i The index of the pigeon.
+     * @return The fullness of the pigeon.
+     */
+    public double getFull (int i)
+    {
+        return full[i];
+    } // getFull(int) method
+    
+    
+    /**
+     * This accessor method returns the age, in frames, of a pigeon.
+     * 
+     * @param i The index of the pigeon.
+     * @return The age of the pigeon.
+     */
+    public int getAge (int i)
+    {
+        return age[i];
+    } // getAge(int) method
+    
+    
+    /**
+     * This accessor method returns an integer representing the gender of a pigeon.
+     * 
+     * @param i The index of the pigeon.
+     * @return 0 if the pigeon is male, and 1 if the pigeon is female.
+     */
+    public int getGender (int i)
+    {
+        return gender[i];
+    } // getGender(int) method
+    
+    
+    /**
+     * This method determines whether or not a pigeon currently has a disease.
+     * 
+     * @param i The index of the pigeon.
+     * @return <code>true</code> if and only if the pigeon currently has a disease.
+     */
+    public boolean isSick (int i)
+    {
+        return disease[i];
+    } // isSick(int) method
+    
+    
+    /**
+     * This accessor method returns the pigeonhole that a pigeon is currently occupying.
+     * 
+     * @param i The index of the pigeon.
+     * @return The pigeon's pigeonhole, or <code>null</code> if the pigeon is homeless.
+     */
+    public Pigeonhole getHome (int i)
+    {
+        return (home[i] == -1) ? null : grid.get (home[i]);
+    } // getHome(int) method
+    
+    
+    /**
+     * This method determines whether or not a pigeon is currently dead.
+     * A pigeon dies by fighting other pigeons too much, by starving to death or by getting eaten.
+     * 
+     * @param i The index of the pigeon.
+     * @return <code>true<code>, if and only if the pigeon is dead.
+     */
+    public boolean isDead (int i)
+    {
+        return hp[i] <= 0 || full[i] <= 0;
+    } // isDead(int) method
+    
+    
+    /**
+     * This method determines whether or not a pigeon is able to start breeding.
+     * Pigeons cannot breed if they are too young or too old, or if they are cooling down.
+     * 
+     * @param i The index of the pigeon.
+     * @return <code>true</code> if and only if the pigeon is able to breed.
+     * @see SimulationConfig.breedingAge
+     */
+    public boolean canBreed (int i)
+    {
+        // Also need to account for the breeding time, so the pigeon is not old before the baby is born
+        return age[i] >= config.getBreedingAge () && age[i] < config.getOldAge () - config.getBreedTime () && cooldown[i] <= 0;
+    } // canBreed(int) method
+    
+    
+    /**
+     * This method determines whether or not a pigeon is old.
+     * 
+     * @param i The index of the pigeon.
+     * @return <code>true</code> if and only if the pigeon is at least as old as the settings' old age.
+     * @see SimulationConfig.oldAge
+     */
+    public boolean isOld (int i)
+    {
+        return age[i] >= config.getOldAge ();
+    } // isOld(int) method
+    
+    
+    /**
+     * This method determines whether or not a pigeon is desperate enough for food to attack other pigeons.
+     * A pigeon is desperate if and only if it is less than 20% full.
+     * 
+     * @param i The index of the pigeon.
+     * @return <code>true</code> if and only if the pigeon's fullness is less than 0.20.
+     */
+    public boolean isDesperate (int i)
+    {
+        return full[i] < 0.20;
+    } // isDesperate(int) method
+    
+    
+    /**
+     * This method determines whether or not a pigeon is currently homeless.
+     * 
+     * @param i The index of the pigeon.
+     * @return <code>true</code> if and only if the pigeon is not currently inside a pigeonhole.
+     */
+    public boolean isHomeless (int i)
+    {
+        return home[i] == -1;
+    } // isHomeless(int) method
+    
+    
+    /**
+     * This method determines whether or not a pigeon is busy creating a baby.
+     * The pigeon is considered to be currently breeding for the first <code>breedTime</code> frames of its cooldown.
+     * 
+     * @param i The index of the pigeon.
+     * @return <code>true</code> if and only if the pigeon is breeding.
+     */
+    public boolean isBreeding (int i)
+    {
+        return cooldown[i] >= SimulationConfig.BREED_COOLDOWN - config.getBreedTime ();
+    } // isBreeding(int) method
+    
+    
+    /**
+     * This method makes two pigeons attack each other.
+     * All attacks are two-way, and diseased pigeons can transmit diseases during attacks.
+     * If one pigeon dies from the attack, the other pigeon eats the loser and also grows stronger.
+     * 
+     * @param i The index of the attacking pigeon.
+     * @param others The store that contains the pigeon being attacked.
+     * @param j The index of the pigeon being attacked.
+     */
+    public void attack (int i, PigeonStore others, int j)
+    {
+        double[] otherHP = others.hp;
+        boolean[] otherDisease = others.disease;
+        
+        hp[i] -= others.getPower (j);
+        disease[i] |= otherDisease[j] && (random (i) < 0.1); // 10% chance of transmitting disease
+        otherHP[j] -= getPower (i);
+        otherDisease[j] |= disease[i] && (others.random (j) < 0.1); // 10% chance of transmitting disease
+        
+        if (otherHP[j] <= 0 && hp[i] / others.getPower (j) >= otherHP[j] / getPower (i))
+        {
+            // Gain stats from growing stronger
+            power[i] *= 1.2;
+            maxSpeed[i] *= 1.05;
+            
+            // Only desperate or almost dead pigeons should eat diseased pigeons
+            if (isDesperate (i) || isDead (i) || !otherDisease[j])
+            {
+                // Gain stats from eating pigeon
+                full[i] = 1.5;
+                hp[i] = Math.min (hp[i] + maxHP[i] / 2, maxHP[i]);
+                disease[i] |= otherDisease[j]; // Eating diseased pigeons leads to disease transmission
+            }
+        }
+        if (hp[i] <= 0 && otherHP[j] / getPower (i) >= hp[i] / others.getPower (j))
+        {
+            // Gain stats from growing stronger
+            others.power[j] *= 1.2;
+            others.maxSpeed[j] *= 1.05;
+            
+            // Only desperate or almost dead pigeons should eat diseased pigeons
+            if (others.isDesperate (j) || others.isDead (j) || !disease[i])
+            {
+                // Gain stats from eating pigeon
+                others.full[j] = 1.5;
+                otherHP[j] = Math.min (otherHP[j] + others.maxHP[j] / 2, others.maxHP[j]);
+                otherDisease[j] |= disease[i]; // Eating diseased pigeons leads to disease transmission
+            }
+        }
+    } // attack(int,PigeonStore,int) method
+    
+    
+    /**
+     * This method causes a pigeon to move in a given way, limited by its speed.
+     * Note that pigeons inside pigeonholes cannot move.
+     * 
+     * @param i The index of the pigeon.
+     * @param dx The given change in x-coordinate.
+     * @param dy The given change in y-coordinate.
+     */
+    public void move (int i, double dx, double dy)
+    {
+        if (home[i] != -1) // Currently has a home
+        {
+            return; // Don't move at all
+        }
+        
+        // Check boundaries
+        if (x[i] + dx < 0)
+        {
+            dx = -x[i];
+        }
+        if (x[i] + dx > 635)
+        {
+            dx = 635 - x[i];
+        }
+        if (y[i] + dy < 0)
+        {
+            dy = -y[i];
+        }
+        if (y[i] + dy > 635)
+        {
+            dy = 635 - y[i];
+        }
+        
+        // Check to see if maximum speed is exceeded
+        double dist = Math.sqrt (dx * dx + dy * dy);
+        double speed = getSpeed (i);
+        if (dist > speed)
+        {
+            // Scale down the motion vector
+            dx *= speed / dist;
+            dy *= speed / dist;
+        }
+        
+        // Change the positions
+        x[i] += dx;
+        y[i] += dy;
+    } // move(int,double,double) method
+    
+    
+    /**
+     * This method determines whether or not a pigeon is resting in its pigeonhole, so that all it will do this frame
+     * is get older. A pigeon rests while it is inside a pigeonhole and is either breeding or not hungry.
+     * 
+     * @param i The index of the pigeon.
+     * @return <code>true</code> if and only if the pigeon is alive, inside a pigeonhole, and breeding or at least half full.
+     */
+    public boolean isDormant (int i)
+    {
+        return home[i] != -1 && !isDead (i) && (full[i] >= 0.5 || isBreeding (i));
+    } // isDormant(int) method
+    
+    
+    /**
+     * This method determines whether or not a pigeon was resting in its pigeonhole as of the last update of the resting pigeons.
+     * 
+     * @param i The index of the pigeon.
+     * @return <code>true</code> if and only if the pigeon was dormant when the resting pigeons were last updated.
+     * @see updateResting()
+     */
+    public boolean isResting (int i)
+    {
+        return resting[i];
+    } // isResting(int) method
+    
+    
+    /**
+     * This method brings the resting pigeons up to date, by looking again at only the pigeons that entered or left
+     * a pigeonhole, started or finished breeding, got hungry or died since the last update.
+     * No other pigeon can have started or stopped resting in the meantime.
+     * 
+     * @return <code>true</code> if and only if any pigeon was added, removed, or started or stopped resting since the last update.
+     * @see isDormant(int)
+     */
+    public synchronized boolean updateResting ()
+    {
+        if (config.getBreedTime () != restBreedTime) // Every breeding pigeon may have started or stopped breeding
+        {
+            restBreedTime = config.getBreedTime ();
+            for (int i = 0; i < size; i++)
+            {
+                restChanged (i);
+            }
+        }
+        
+        // Loop to look at every pigeon whose resting conditions changed
+        for (int k = 0; k < restChangeCount; k++)
+        {
+            int i = restChanges[k];
+            restPending[i] = false;
+            if (resting[i] != isDormant (i))
+            {
+                resting[i] = !resting[i];
+                restStale = true;
+            }
+        }
+        restChangeCount = 0;
+        
+        boolean stale = restStale;
+        restStale = false;
+        return stale;
+    } // updateResting() method
+    
+    
+    /**
+     * This method adds a pigeon to the list of pigeons to look at again in the next update of the resting pigeons.
+     * Pigeons can enter pigeonholes and start breeding on several threads at once, so the list is only changed by one at a time.
+     * 
+     * @param i The index of the pigeon.
+     */
+    private synchronized void restChanged (int i)
+    {
+        if (!restPending[i])
+        {
+            restPending[i] = true;
+            restChanges[restChangeCount++] = i;
+        }
+    } // restChanged(int) method
+    
+    
+    /**
+     * This method checks the health of every pigeon in a list, one after another.
+     * 
+     * @param list The indices of the pigeons, in order.
+     * @param count The number of pigeons in the list.
+     * @see checkHealth(int)
+     */
+    public void checkHealth (int[] list, int count)
+    {
+        for (int k = 0; k < count; k++)
+        {
+            checkHealth (list[k]);
+        }
+    } // checkHealth(int[],int) method
+    
+    
+    /**
+     * This method checks a pigeon's health, which changes a little bit every frame.
+     * 
+     * @param i The index of the pigeon.
+     */
+    public void checkHealth (int i)
+    {
+        boolean couldBreed = home[i] != -1 && canBreed (i);
+        boolean wasFull = full[i] >= 0.5;
+        
+        // Continuous processes
+        cooldown[i] = Math.max (cooldown[i] - 1, 0);
+        age[i]++;
+        if (!disease[i]) // Regenerates health if and only if no disease
+        {
+            hp[i] = Math.min (hp[i] + maxHP[i] / 1200, maxHP[i]);
+        }
+        if (disease[i] && random (i) < 1.0 / 2000) // One in 2000 chance of clearing disease
+        {
+            disease[i] = false;
+        }
+        full[i] -= 0.001; // Need to eat approximately one food every 1000 frames
+        
+        // Age processes
+        if (isOld (i)) // Old pigeon
+        {
+            power[i] = Math.max (0, power[i] - 1.0 / 1800);
+            maxHP[i] = Math.max (0, maxHP[i] - 1.0 / 450);
+            hp[i] = Math.min (hp[i], maxHP[i]);
+            maxSpeed[i] = Math.max (maxSpeed[i] - 0.0001, 0);
+            disease[i] = disease[i] || (random (i) < (age[i] - config.getOldAge ()) / 450.0 * 0.0001); // Chance of catching disease
+        }
+        
+        if (home[i] != -1 && canBreed (i) != couldBreed) // Partners could start or stop looking for this pigeon
+        {
+            grid.update (grid.get (home[i]));
+        }
+        
+        // A pigeon in a pigeonhole wakes up when it gets hungry, finishes breeding or dies
+        if (home[i] != -1 && ((wasFull && full[i] < 0.5) || cooldown[i] == SimulationConfig.BREED_COOLDOWN - config.getBreedTime () - 1
+                              || isDead (i)))
+        {
+            restChanged (i);
+        }
+    } // checkHealth(int) method
+    
+    
+    /**
+     * This method helps a pigeon whenever it eats a piece of food.
+     * In particular, the pigeon restores half of its fullness and 20% of its max HP is regenerated.
+     * 
+     * @param i The index of the pigeon.
+     */
+    public void eat (int i)
+    {
+        full[i] += 0.5;
+        hp[i] = Math.min (maxHP[i], hp[i] + maxHP[i] / 5);
+    } // eat(int) method
+    
+    
+    /**
+     * This method kills a pigeon that got caught by a predator.
+     * 
+     * @param i The index of the pigeon.
+     */
+    public void kill (int i)
+    {
+        hp[i] = 0;
+        if (home[i] != -1)
+        {
+            restChanged (i);
+        }
+    } // kill(int) method
+    
+    
+    /**
+     * This method makes a pigeon enter a given pigeonhole.
+     * This method does nothing if the pigeon is already inside a pigeonhole.
+     * 
+     * @param i The index of the pigeon.
+     * @param hole The pigeonhole that the pigeon will enter.
+     * @throw IllegalArgumentException If a pigeon of the same gender already occupies the pigeonhole,
+     *                                  or if the pigeonhole is not part of this store's grid.
+     */
+    public void enterHole (int i, Pigeonhole hole)
+    {
+        if (home[i] != -1) // Already has a home
+        {
+            return;
+        }
+        if (grid == null || hole.getIndex () < 0 || hole.getIndex () >= grid.size () || grid.get (hole.getIndex ()) != hole)
+        {
+            throw new IllegalArgumentException ("The pigeonhole is not part of this pigeon's world.");
+        }
+        
+        // Enter the hole
+        hole.fill (view (i));
+        home[i] = hole.getIndex ();
+        restChanged (i);
+    } // enterHole(int,Pigeonhole) method
+    
+    
+    /**
+     * This method makes a pigeon exit its pigeonhole.
+     * This method does nothing if the pigeon is currently homeless.
+     * 
+     * @param i The index of the pigeon.
+     * @throw IllegalArgumentException If, for some sketchy reason, the pigeon's home does not contain the pigeon.
+     */
+    public void exitHole (int i)
+    {
+        if (home[i] != -1)
+        {
+            // Make the pigeon homeless
+            grid.get (home[i]).release (view (i));
+            home[i] = -1;
+            restChanged (i);
+        }
+    } // exitHole(int) method
+    
+    
+    /**
+     * This method activates whenever a pigeon attempts to start breeding.
+     * 
+     * @param i The index of the pigeon.
+     * @throw IllegalArgumentException If the pigeon is not able to breed.
+     */
+    public void startBreeding (int i)
+    {
+        if (!canBreed (i))
+        {
+            throw new IllegalArgumentException ("This pigeon is not able to breed.");
+        }
+        
+        cooldown[i] = SimulationConfig.BREED_COOLDOWN; // Activate cooldown
+        if (home[i] != -1)
+        {
+            grid.update (grid.get (home[i])); // Partners should stop looking for this pigeon
+            restChanged (i);
+        }
+    } // startBreeding(int) method
+    
+    
+    /**
+     * This method determines whether or not a pigeon feels safe, given the list of predators in the world.
+     * 
+     * @param i The index of the pigeon.
+     * @param predators The given list of predators.
+     * @return <code>true</code> if and only if none of the predators makes the pigeon feel unsafe.
+     * @see Pigeon.isSafe(ArrayList<Predator>,double,double)
+     */
+    public boolean isSafe (int i, ArrayList<Predator> predators)
+    {
+        if (home[i] != -1)
+        {
+            return true; // Pigeon is safe inside pigeonhole
+        }
+        return Pigeon.isSafe (predators, x[i], y[i], config.getSafety ());
+    } // isSafe(int,ArrayList<Predator>) method
+} // PigeonStore class
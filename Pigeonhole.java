@@ -26,9 +26,20 @@ public class Pigeonhole
     
     /**
      * The amount of time that the pigeons inside the pigeonhole have been breeding for.
-     * It takes 150 frames of undisturbed breeding to successfully create a baby.
+     * It takes 150 frames of undisturbed breeding to successfully create a baby, unless the colony's settings say otherwise.
      */
     private int breedTimer;
+    
+    /**
+     * The grid that this pigeonhole belongs to, or <code>null</code> if it does not belong to a grid.
+     * The grid is told whenever a pigeon enters or leaves the pigeonhole.
+     */
+    private HoleGrid grid;
+    
+    /**
+     * The number of the pigeonhole in its grid, or -1 if it does not belong to a grid.
+     */
+    private int index;
 
     /**
      * This constructor method creates a new empty pigeonhole at a given location.
@@ -44,9 +55,56 @@ public class Pigeonhole
         filled = new Pigeon[2];
         filled[0] = filled[1] = null;
         breedTimer = 0;
+        grid = null;
+        index = -1;
     } // Pigeonhole(int,int) constructor
     
     
+    /**
+     * This method sets the grid that the pigeonhole belongs to.
+     * 
+     * @param grid1 The grid that the pigeonhole belongs to.
+     * @param index1 The number of the pigeonhole in the grid.
+     */
+    void setGrid (HoleGrid grid1, int index1)
+    {
+        grid = grid1;
+        index = index1;
+    } // setGrid(HoleGrid,int) method
+    
+    
+    /**
+     * This accessor method returns the number of the pigeonhole in its grid.
+     * 
+     * @return The number of the pigeonhole, or -1 if it does not belong to a grid.
+     * @see HoleGrid.get(int)
+     */
+    public int getIndex ()
+    {
+        return index;
+    } // getIndex() method
+    
+    
+    /**
+     * This method changes the pigeon of a given gender inside the pigeonhole and lets the grid know about the change.
+     * 
+     * @param gender An integer representing the gender of the pigeon.
+     * @param pigeon The new pigeon, or <code>null</code> if there should be no pigeon of that gender.
+     */
+    private void setFilled (int gender, Pigeon pigeon)
+    {
+        if (grid != null)
+        {
+            grid.count (this, -1); // Forget the old state
+        }
+        filled[gender] = pigeon;
+        if (grid != null)
+        {
+            grid.count (this, 1); // Remember the new state
+        }
+    } // setFilled(int,Pigeon) method
+    
+    
     /**
      * This accessor method returns the x-coordinate of the entrance point of a given pigeon.
      * Males should be placed at <code>(x + 20, y + 18)</code>, while females should be placed at <code>(x + 15, y + 18)</code>
@@ -56,10 +114,23 @@ public class Pigeonhole
      */
     public int getX (Pigeon pigeon)
     {
-        return x + ((pigeon.getGender () == 0) ? 20 : 15);
+        return getX (pigeon.getGender ());
     } // getX(Pigeon) method
     
     
+    /**
+     * This accessor method returns the x-coordinate of the entrance point for pigeons of a given gender.
+     * 
+     * @param gender An integer representing the gender of the pigeon.
+     * @return The x-coordinate of the entrance point for the gender.
+     * @see getX(Pigeon)
+     */
+    public int getX (int gender)
+    {
+        return x + ((gender == 0) ? 20 : 15);
+    } // getX(int) method
+    
+    
     /**
      * This accessor method returns the y-coordinate of the entrance point of a given pigeon.
      * Males should be placed at <code>(x + 20, y + 18)</code>, while females should be placed at <code>(x + 15, y + 18)</code>
@@ -69,10 +140,23 @@ public class Pigeonhole
      */
     public int getY (Pigeon pigeon)
     {
-        return y + 18;
+        return getY (pigeon.getGender ());
     } // getY(Pigeon) method
     
     
+    /**
+     * This accessor method returns the y-coordinate of the entrance point for pigeons of a given gender.
+     * 
+     * @param gender An integer representing the gender of the pigeon.
+     * @return The y-coordinate of the entrance point for the gender.
+     * @see getY(Pigeon)
+     */
+    public int getY (int gender)
+    {
+        return y + 18;
+    } // getY(int) method
+    
+    
     /**
      * This method determines whether or not a pigeon of a certain gender would be able to breed inside this pigeonhole.
      * 
@@ -127,7 +211,7 @@ public class Pigeonhole
             throw new IllegalArgumentException ("The pigeon is too far away to enter the pigeonhole.");
         }
         
-        filled[pigeon.getGender ()] = pigeon; // Store the pigeon
+        setFilled (pigeon.getGender (), pigeon); // Store the pigeon
     } // fill(Pigeon) method
     
     
@@ -141,7 +225,7 @@ public class Pigeonhole
     {
         if (filled[pigeon.getGender ()] == pigeon) // Contains the correct pigeon
         {
-            filled[pigeon.getGender ()] = null; // No longer contains pigeon
+            setFilled (pigeon.getGender (), null); // No longer contains pigeon
             breedTimer = 0; // Can no longer breed without pigeons
         }
         else
@@ -152,20 +236,23 @@ public class Pigeonhole
     
     
     /**
-     * This method checks breeding processes inside the pigeonhole and adds a new baby to the colony if breeding is successful.
+     * This method checks breeding processes inside the pigeonhole and gives the colony a new baby if breeding is successful.
+     * The colony adds the baby once every pigeonhole has been checked, so pigeonholes can be checked at the same time.
      * 
+     * @param colony The colony that the baby should be added to.
+     * @see Colony.addBirth(Pigeonhole,Pigeon,Pigeon)
      * @see breedTimer
      */
-    public void checkBreeding ()
+    public void checkBreeding (Colony colony)
     {
         // Check for dead pigeons that can't breed
         if (filled[0] != null && filled[0].isDead ())
         {
-            filled[0] = null;
+            setFilled (0, null);
         }
         if (filled[1] != null && filled[1].isDead ())
         {
-            filled[1] = null;
+            setFilled (1, null);
         }
         if (filled[0] == null || filled[1] == null)
         {
@@ -186,7 +273,7 @@ public class Pigeonhole
         else // Currently breeding
         {
             // Make sure pigeons are still inside pigeonhole and not too old
-            if (filled[0] != null && filled[0].getAge () < 9000 && filled[1] != null && filled[1].getAge () < 9000)
+            if (filled[0] != null && !filled[0].isOld () && filled[1] != null && !filled[1].isOld ())
             {
                 breedTimer++;
             }
@@ -194,11 +281,11 @@ public class Pigeonhole
             {
                 breedTimer = 0; // No longer breeding
             }
-            if (breedTimer == 150) // Done breeding
+            if (breedTimer >= colony.getConfig ().getBreedTime ()) // Done breeding
             {
                 breedTimer = 0;
-                PigeonholeSimulation.colony.add (new Pigeon (filled[0], filled[1]));
+                colony.addBirth (this, filled[0], filled[1]);
             }
         }
-    } // checkBreeding() method
+    } // checkBreeding(Colony) method
 } // Pigeonhole class
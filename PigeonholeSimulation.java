@@ -1,6 +1,7 @@
 import java.awt.*;
 import java.awt.event.*;  // Needed for ActionListener
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.swing.*;
 
 /**
@@ -13,6 +14,11 @@ import javax.swing.*;
  */
 public class PigeonholeSimulation extends JFrame implements ActionListener
 {
+    /**
+     * The version of the serialized form of this class.
+     */
+    private static final long serialVersionUID = 1L;
+    
     /**
      * Whether or not the program is currently being debugged.
      */
@@ -31,13 +37,42 @@ public class PigeonholeSimulation extends JFrame implements ActionListener
     /**
      * The combo box that allows the user to choose which individual stat the pigeons should display.
      */
-    public static JComboBox displayCB;
+    public static JComboBox<DisplayMode> displayCB;
+    
+    /**
+     * The stat that the pigeons are shaded by, as chosen in <code>displayCB</code>.
+     * It is kept separately so that the simulation thread can read it without touching the combo box.
+     */
+    public static volatile DisplayMode displayMode = DisplayMode.FULLNESS;
     
     /**
      * The slider that allows the user to select a speed for the simulation.
      */
     public static JSlider speedSlider = new JSlider (1, 100);
     
+    /**
+     * The check box that lets the simulation run as fast as possible, ignoring the speed slider.
+     */
+    public static JCheckBox uncappedCB = new JCheckBox ("Uncapped");
+    
+    /**
+     * The check box that simulates as many frames as possible between redraws, and only redraws a few times per second.
+     * 
+     * @see DISPLAY_RATE
+     */
+    public static JCheckBox turboCB = new JCheckBox ("Turbo");
+    
+    /**
+     * Whether or not <code>turboCB</code> is selected.
+     * It is kept separately so that the simulation thread can read it without touching the check box.
+     */
+    private static volatile boolean turbo = false;
+    
+    /**
+     * How many times per second the windows are redrawn in turbo mode.
+     */
+    public static final int DISPLAY_RATE = 30;
+    
     /**
      * The text area that prompts the user to select the desired speed.
      * 
@@ -57,15 +92,28 @@ public class PigeonholeSimulation extends JFrame implements ActionListener
      */
     public static ArrayList<Pigeonhole> holes = new ArrayList<> ();
     
+    /**
+     * The settings that the world is simulated with, which change as the user moves the food generation sliders.
+     */
+    public static SimulationConfig config = new SimulationConfig ();
+    
     /**
      * The colony containing all pigeons in the world.
      */
-    public static Colony colony = new Colony ();
+    public static Colony colony = new Colony (config);
     
     /**
-     * Helps to keep track of time to simulate at the required speed.
+     * The latest snapshot of the colony, which is replaced after every frame.
+     * The window only draws snapshots, so it never looks at the colony while the colony is being simulated.
      */
-    public static long time;
+    public static AtomicReference<FrameSnapshot> frame = new AtomicReference<> (colony.snapshot (displayMode));
+    
+    /**
+     * Decides when to simulate each frame, so that the world moves at the chosen speed.
+     * 
+     * @see speedSlider
+     */
+    public static FrameScheduler scheduler = new FrameScheduler (speedSlider.getValue ());
     
     /**
      * Whether or not the simulation is currently happening.
@@ -101,11 +149,15 @@ public class PigeonholeSimulation extends JFrame implements ActionListener
         // 1... Create/initialize components
         simulateBtn = new JButton ("Start");
         simulateBtn.addActionListener (this);
-        displayCB = new JComboBox ();
-        displayCB.addItem ("Individual fullness");
-        displayCB.addItem ("Individual HP");
-        displayCB.addItem ("Individual disease");
+        displayCB = new JComboBox<DisplayMode> ();
+        for (DisplayMode mode : DisplayMode.values ())
+        {
+            displayCB.addItem (mode);
+        }
         displayCB.addActionListener (this);
+        speedSlider.addChangeListener (e -> updateRate ());
+        uncappedCB.addActionListener (e -> updateRate ());
+        turboCB.addActionListener (e -> updateRate ());
         
         sliderLabel.setEditable (false);
         displayCB.setEditable (false);
@@ -139,6 +191,8 @@ public class PigeonholeSimulation extends JFrame implements ActionListener
         control.add (input, "North");
         speedInput.add (sliderLabel);
         speedInput.add (speedSlider);
+        speedInput.add (uncappedCB);
+        speedInput.add (turboCB);
         speedInput.add(frameRate);
         control.add (speedInput, "Center");
         north.add(control);
@@ -163,47 +217,74 @@ public class PigeonholeSimulation extends JFrame implements ActionListener
      * This method initializes the GUI and makes it usable, and then simulates the world.
      * 
      * @param args Something random that you can ignore.
+     * @throw InterruptedException If the simulation thread is interrupted while it is waiting.
      */
-    public static void main (String[] args)
+    public static void main (String[] args) throws InterruptedException
     {
+        config.setDebug (DEBUG);
         window = new PigeonholeSimulation (); // Initialize the window
         GraphGUI.main (new String[0]); // Initialize the graph GUI as well
-        GraphGUI.addStats (); // Add initial stats that can be displayed
+        GraphGUI.recordStats (colony); // Add initial stats that can be displayed
+        colony.addFrameListener (c -> GraphGUI.recordStats (c)); // Add new stats to the graph after every frame
         
-        // Loop to simulate world indefinitely
-        long lastCheck=System.nanoTime();
-        while (true) {
-            time = System.nanoTime();
-            if (simulating) {//while (!simulating) {} // Wait until the user wants to simulate
-                colony.move(); // Simulate one frame of the world
-                //get numbers
-                double lowSeason = (620.0 - PigeonholeSimulation.minSlideLoc) / 200;
-                double highSeason = (620.0 - PigeonholeSimulation.maxSlideLoc) / 200;
-                // Model seasons with a sinusoidal curve
-                double numFood = (lowSeason + highSeason) / 2
-                        + (highSeason - lowSeason) / 2 * Math.sin (Math.PI * colony.getAge () / 3600);
-
-                window.repaint(); // Redraw entire world after modifying it
-                foodRateLabel.setText(String.format("<html>    Low Season: %.2f<br>    High Season: %.2f<br>    Current Rate: %.2f</html>",lowSeason,highSeason,numFood));
+        // Loop to simulate world indefinitely, sleeping between frames instead of spinning
+        long lastCheck = System.nanoTime ();
+        int sampled = 0;
+        long dropped = 0;
+        while (true)
+        {
+            int frames = scheduler.awaitFrames (); // Waits without using the processor while the simulation is stopped,
+                                                   // unless a redraw is needed
+            for (int k = 0; k < frames; k++) // More than one frame if the simulation fell behind
+            {
+                colony.move (); // Simulate one frame of the world
             }
-            //Busy waiting for accuracy (using nanoTime)
-            long frameTime=1000000000L/speedSlider.getValue();
-            if (DEBUG) {
-                if (System.nanoTime()>time+frameTime) {
-                    System.out.println("LAG!"); // For detecting lag
+            if (turbo) // Keep simulating until it is time to redraw
+            {
+                long end = System.nanoTime () + 1000000000L / DISPLAY_RATE;
+                while (System.nanoTime () < end && scheduler.isRunning ())
+                {
+                    colony.move ();
+                    frames++;
                 }
             }
-            while(System.nanoTime()<time+frameTime);// Enforce desired speed
-            //take samples to avoid seizures
-            if(colony.getAge()%10==9){
-                int fps=(int)Math.round(1000000000.0*10/(System.nanoTime()-lastCheck));
-                frameRate.setText("FPS: "+fps);//display the frame rate
-                lastCheck=System.nanoTime();
+            frame.set (colony.snapshot (displayMode)); // Hand the new frame over to be drawn
+            window.repaint (); // Redraw entire world after modifying it
+            String foodRates = String.format ("<html>    Low Season: %.2f<br>    High Season: %.2f<br>    Current Rate: %.2f</html>",
+                                              config.getLowSeason (), config.getHighSeason (), colony.getFoodRate ());
+            SwingUtilities.invokeLater (() -> foodRateLabel.setText (foodRates)); // Swing components belong to the event thread
+            
+            if (DEBUG && scheduler.getDropped () > dropped) // For detecting lag
+            {
+                System.out.println ("LAG! Dropped " + (scheduler.getDropped () - dropped) + " frames");
+                dropped = scheduler.getDropped ();
+            }
+            
+            // Take samples to avoid seizures
+            sampled += frames;
+            if (sampled >= 10)
+            {
+                int fps = (int) Math.round (1000000000.0 * sampled / (System.nanoTime () - lastCheck));
+                SwingUtilities.invokeLater (() -> frameRate.setText ("FPS: " + fps)); // Display the frame rate
+                lastCheck = System.nanoTime ();
+                sampled = 0;
             }
         }
     } // main(String[]) method
     
     
+    /**
+     * This method tells the scheduler about the speed that the user has chosen.
+     * 
+     * @see scheduler
+     */
+    private static void updateRate ()
+    {
+        turbo = turboCB.isSelected ();
+        scheduler.setRate ((uncappedCB.isSelected () || turbo) ? 0 : speedSlider.getValue ());
+    } // updateRate() method
+    
+    
     /**
      * This method activates whenever the user interacts with the program.
      * 
@@ -214,13 +295,20 @@ public class PigeonholeSimulation extends JFrame implements ActionListener
         if (e.getActionCommand ().equals ("Start"))
         {
             simulating = true; // Start simulating
+            scheduler.resume (); // Wake up the simulation thread
             simulateBtn.setText ("Stop"); // The button changes its purpose
         }
         if (e.getActionCommand ().equals ("Stop"))
         {
             simulating = false; // Stop simulating
+            scheduler.pause (); // The simulation thread waits until started again
             simulateBtn.setText ("Start"); // The button changes its purpose
         }
+        if (e.getSource () == displayCB && displayCB.getSelectedItem () != displayMode)
+        {
+            displayMode = (DisplayMode) displayCB.getSelectedItem ();
+            scheduler.requestRedraw (); // The next snapshot is shaded by the new stat, even while stopped
+        }
         
         repaint (); // Redraw everything after event
         pack (); // Resize window to make everything fit perfectly
@@ -267,6 +355,9 @@ public class PigeonholeSimulation extends JFrame implements ActionListener
                 maxSlideLoc = Math.max (20, Math.min (e.getY (), minSlideLoc - 5)); // Move the maximum slider
             }
             
+            // Food generation speed = distance of slider from the bottom / 200
+            config.setSeasons ((620.0 - minSlideLoc) / 200, (620.0 - maxSlideLoc) / 200);
+            
             repaint (); // Redraw everything to show new location of slider
         } // mouseDragged(MouseEvent) method
 
@@ -336,6 +427,17 @@ public class PigeonholeSimulation extends JFrame implements ActionListener
      */
     class DrawArea extends JPanel
     {
+        /**
+         * The version of the serialized form of this class.
+         */
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The renderer that draws each frame of the world into an image, which is then drawn all at once.
+         */
+        private RasterRenderer renderer = new RasterRenderer (640, 640);
+        
+        
         /**
          * This Constructor method creates a new drawing area with a given size.
          * 
@@ -355,11 +457,8 @@ public class PigeonholeSimulation extends JFrame implements ActionListener
          */
         public void paintComponent (Graphics g)
         {
-            // Green background
-            g.setColor (Color.green);
-            g.fillRect (0, 0, 640, 640);
-            
-            colony.display (g); // Display the objects in the world
+            // Display the latest frame of the world
+            g.drawImage (renderer.render (frame.get ()), 0, 0, null);
             window.pack (); // To make everything fit perfectly when displaying
         } // paintComponent(Graphics) method
     } // DrawArea class
@@ -375,6 +474,11 @@ public class PigeonholeSimulation extends JFrame implements ActionListener
      */
     class DrawArea2 extends JPanel
     {
+        /**
+         * The version of the serialized form of this class.
+         */
+        private static final long serialVersionUID = 1L;
+        
         /**
          * This constructor method creates a new slider drawing area with a fixed size of 50 pixels by 640 pixels.
          */
@@ -395,13 +499,8 @@ public class PigeonholeSimulation extends JFrame implements ActionListener
             g.fillRect (19, 20, 2, 600); // The main part of the slider
             g.fillRect (10, minSlideLoc - 5, 20, 10); // The minimum sliding part
             g.fillRect (10, maxSlideLoc - 5, 20, 10); // The maximum sliding part
-            double lowSeason = (620.0 - PigeonholeSimulation.minSlideLoc) / 200;
-            double highSeason = (620.0 - PigeonholeSimulation.maxSlideLoc) / 200;
+            double numFood = frame.get ().getFoodRate (); // Seasons are modelled with a sinusoidal curve
             
-            // Model seasons with a sinusoidal curve
-            double numFood = (lowSeason + highSeason) / 2
-                            + (highSeason - lowSeason) / 2 * Math.sin (Math.PI * colony.getAge () / 3600);
-                            
             // Draw location of current food generation speed
             int pos = (int) (620 - numFood * 200);
             g.setColor (Color.green); // Green colour
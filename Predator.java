@@ -1,4 +1,5 @@
 import java.awt.*;
+import java.util.SplittableRandom;
 
 /**
  * An Object that represents a predator that chases and eats pigeons.
@@ -11,6 +12,11 @@ import java.awt.*;
  */
 public class Predator
 {
+    /**
+     * The colour of every predator.
+     */
+    public static final Color ORANGE = new Color (255, 160, 0);
+    
     /**
      * The maximum possible speed of the predator, in pixels per frame.
      */
@@ -26,17 +32,34 @@ public class Predator
      */
     private double y;
     
+    /**
+     * The random number stream that decides where the predator spawns and where it wanders.
+     */
+    private SplittableRandom random;
+    
 
     /**
      * This constructor method creates a new random predator at the top edge of the world.
      */
     public Predator ()
     {
-        x = Math.random () * 630;
-        y = 0; // Spawn at top edge
-        speed = Math.random () * 0.5 + 1;
+        this (new SplittableRandom ());
     } // Predator() constructor
     
+    
+    /**
+     * This constructor method creates a new random predator at the top edge of the world using a given random number stream.
+     * 
+     * @param random1 The random number stream that the predator should use.
+     */
+    public Predator (SplittableRandom random1)
+    {
+        random = random1;
+        x = random.nextDouble () * 630;
+        y = 0; // Spawn at top edge
+        speed = random.nextDouble () * 0.5 + 1;
+    } // Predator(SplittableRandom) constructor
+    
 
     /**
      * This accessor method returns the x-coordinate of the top left corner of the predator.
@@ -81,9 +104,22 @@ public class Predator
      */
     public void display (Graphics g)
     {
-        g.setColor (new Color (255, 160, 0)); // Orange colour
-        g.fillRect ((int) x, (int) y, 10, 10);
+        display (g, (int) x, (int) y);
     } // display(Graphics) method
+    
+    
+    /**
+     * This method displays a predator at a given location using a given Graphics.
+     * 
+     * @param g The Graphics that will display stuff.
+     * @param x The x-coordinate of the top-left corner of the predator.
+     * @param y The y-coordinate of the top-left corner of the predator.
+     */
+    public static void display (Graphics g, int x, int y)
+    {
+        g.setColor (ORANGE);
+        g.fillRect (x, y, 10, 10);
+    } // display(Graphics,int,int) method
 
     
     /**
@@ -138,4 +174,37 @@ public class Predator
         x += dx;
         y += dy;
     } // move() method
+    
+    
+    /**
+     * This method makes the predator move in a random direction while it has no pigeon to chase.
+     */
+    public void wander ()
+    {
+        move (random.nextDouble () * 2e99 - 1e99, random.nextDouble () * 2e99 - 1e99);
+    } // wander() method
+    
+    
+    /**
+     * This method sets the speed of the predator to a random amount from 5% to 15% faster than a given speed.
+     * 
+     * @param average The given speed, such as the average speed of the pigeons.
+     */
+    public void setSpeedAbove (double average)
+    {
+        setSpeedAbove (average, 1.05, 0.1);
+    } // setSpeedAbove(double) method
+    
+    
+    /**
+     * This method sets the speed of the predator to a random multiple of a given speed.
+     * 
+     * @param average The given speed, such as the average speed of the pigeons.
+     * @param low The lowest possible multiple.
+     * @param range How much higher the highest possible multiple is than the lowest.
+     */
+    public void setSpeedAbove (double average, double low, double range)
+    {
+        speed = average * (low + random.nextDouble () * range);
+    } // setSpeedAbove(double,double,double) method
 } // Predator class
@@ -0,0 +1,168 @@
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A renderer that draws snapshots of the world straight into the pixels of an image, instead of asking a Graphics to
+ * draw every pigeon separately. The image is split into bands of rows that are drawn at the same time, and it can
+ * then be drawn on the screen all at once.
+ * The background and pigeonholes are only drawn once, and each frame starts from a copy of them.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class RasterRenderer
+{
+    /**
+     * The number of rows in each band that is drawn separately.
+     */
+    private static final int BAND = 64;
+    
+    /**
+     * The width of the image, in pixels.
+     */
+    private final int width;
+    
+    /**
+     * The height of the image, in pixels.
+     */
+    private final int height;
+    
+    /**
+     * The image that every frame is drawn into.
+     */
+    private final BufferedImage image;
+    
+    /**
+     * The pixels of the image, row by row, as <code>0xRRGGBB</code>.
+     */
+    private final int[] pixels;
+    
+    /**
+     * The pixels of the background and pigeonholes, or <code>null</code> if they haven't been drawn yet.
+     */
+    private int[] background;
+    
+    /**
+     * The grid of pigeonholes that the background was drawn for.
+     */
+    private HoleGrid backgroundHoles;
+    
+    
+    /**
+     * This constructor method creates a new renderer for an image of a given size.
+     * 
+     * @param width1 The width of the image, in pixels.
+     * @param height1 The height of the image, in pixels.
+     */
+    public RasterRenderer (int width1, int height1)
+    {
+        width = width1;
+        height = height1;
+        image = new BufferedImage (width, height, BufferedImage.TYPE_INT_RGB);
+        pixels = ((DataBufferInt) image.getRaster ().getDataBuffer ()).getData ();
+        background = null;
+        backgroundHoles = null;
+    } // RasterRenderer(int,int) constructor
+    
+    
+    /**
+     * This method draws a snapshot of the world into the image.
+     * The image is only valid until the next call to this method.
+     * 
+     * @param snapshot The snapshot to be drawn.
+     * @return The image with the snapshot drawn on it.
+     */
+    public BufferedImage render (FrameSnapshot snapshot)
+    {
+        if (background == null || snapshot.getHoles () != backgroundHoles) // The layout of the world changed
+        {
+            Graphics g = image.getGraphics ();
+            g.setColor (Color.green); // Green background
+            g.fillRect (0, 0, width, height);
+            snapshot.displayBackground (g);
+            g.dispose ();
+            background = pixels.clone ();
+            backgroundHoles = snapshot.getHoles ();
+        }
+        
+        DensityGrid grid = snapshot.getMode ().isHeatmap () ? DensityGrid.build (snapshot, width, height) : null;
+        ForkJoinPool.commonPool ().invoke (new BandTask (snapshot, grid, 0, (height + BAND - 1) / BAND));
+        return image;
+    } // render(FrameSnapshot) method
+    
+    
+    /**
+     * A task that draws a range of bands, splitting itself in half until it is down to one band.
+     * Each band only writes its own rows, so bands can be drawn at the same time.
+     */
+    private class BandTask extends RecursiveAction
+    {
+        /**
+         * The version of the serialized form of this class.
+         */
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The snapshot to be drawn.
+         */
+        private final FrameSnapshot snapshot;
+        
+        /**
+         * The pigeons counted into cells, if the mode is a heatmap.
+         */
+        private final DensityGrid grid;
+        
+        /**
+         * The number of the first band in the range.
+         */
+        private final int from;
+        
+        /**
+         * The number after the last band in the range.
+         */
+        private final int to;
+        
+        
+        /**
+         * This constructor method creates a task that draws a given range of bands.
+         * 
+         * @param snapshot1 The snapshot to be drawn.
+         * @param grid1 The pigeons counted into cells, if the mode is a heatmap.
+         * @param from1 The number of the first band in the range.
+         * @param to1 The number after the last band in the range.
+         */
+        public BandTask (FrameSnapshot snapshot1, DensityGrid grid1, int from1, int to1)
+        {
+            snapshot = snapshot1;
+            grid = grid1;
+            from = from1;
+            to = to1;
+        } // BandTask(FrameSnapshot,DensityGrid,int,int) constructor
+        
+        
+        /**
+         * This method draws the bands in the range.
+         */
+        protected void compute ()
+        {
+            if (to - from == 1)
+            {
+                int top = from * BAND;
+                int bottom = Math.min (height, top + BAND);
+                System.arraycopy (background, top * width, pixels, top * width, (bottom - top) * width); // Start from the background
+                snapshot.displayMoving (pixels, width, top, bottom, grid);
+            }
+            else
+            {
+                int mid = (from + to) >>> 1;
+                invokeAll (new BandTask (snapshot, grid, from, mid), new BandTask (snapshot, grid, mid, to));
+            }
+        } // compute() method
+    } // BandTask class
+} // RasterRenderer class
@@ -0,0 +1,532 @@
+import java.util.SplittableRandom;
+
+/**
+ * An Object that holds all the settings that a colony needs in order to be simulated.
+ * The settings can be changed while the colony is being simulated, and the colony will use the new settings
+ * starting from the next frame.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class SimulationConfig
+{
+    /**
+     * The number of frames after a pigeon starts breeding before it can breed again.
+     * The breeding itself takes up the start of this time, so the breeding time must be shorter.
+     */
+    public static final int BREED_COOLDOWN = 900;
+    
+    /**
+     * The number of tiles that lets the colony pick two tiles per thread, as many as the width of the world allows.
+     * 
+     * @see tiles
+     */
+    public static final int AUTO_TILES = -1;
+    
+    /**
+     * The number of random pigeons that the colony starts off with.
+     */
+    private int initialPigeons;
+    
+    /**
+     * The number of predators in the world.
+     */
+    private int predators;
+    
+    /**
+     * The average amount of food that is placed in the world each frame during the low season.
+     * The seasons can be changed from the GUI while the colony is being simulated on another thread,
+     * so they are only read and written while holding the settings' lock.
+     */
+    private double lowSeason;
+    
+    /**
+     * The average amount of food that is placed in the world each frame during the high season.
+     */
+    private double highSeason;
+    
+    /**
+     * Whether or not the colony should print debugging information while it is being simulated.
+     */
+    private boolean debug;
+    
+    /**
+     * The number of threads that move the pigeons, or 0 if the pigeons should be moved one at a time.
+     * With one or more threads, every pigeon decides where to move based on where the others were at the start of
+     * the movement phase, and then the moves are carried out in order.
+     */
+    private int threads;
+    
+    /**
+     * The seed that every random number in the simulation comes from.
+     * Two colonies with the same seed and the same settings are simulated exactly the same way.
+     */
+    private long seed;
+    
+    /**
+     * The number of vertical strips, or tiles, that the world is split into when the pigeons are moved on more than one
+     * thread, 0 or 1 if the world should not be split, or <code>AUTO_TILES</code> to follow the number of threads.
+     * Tiles that are not next to each other fight and move their pigeons at the same time, reading and changing the
+     * shared world directly rather than keeping their own copies of it. Each tile is at least two pigeonholes wide,
+     * so the default 640 pixel wide world has at most 8 tiles, of which at most 4 run at once. Predators, breeding
+     * and food are still simulated on one thread.
+     */
+    private int tiles;
+    
+    /**
+     * The distance at which a pigeon feels safe from a predator, in pixels.
+     */
+    private double safety;
+    
+    /**
+     * The age, in frames, at which pigeons become old enough to breed.
+     */
+    private int breedingAge;
+    
+    /**
+     * The age, in frames, at which pigeons become old.
+     * Old pigeons cannot breed, and they get weaker and catch diseases more often as they age.
+     */
+    private int oldAge;
+    
+    /**
+     * The number of frames of undisturbed breeding that it takes to create a baby.
+     */
+    private int breedTime;
+    
+    /**
+     * The fraction of the food in the world that rots away each frame.
+     */
+    private double foodDecay;
+    
+    /**
+     * The lowest factor by which the predators are faster than the average pigeon.
+     */
+    private double predatorSpeedLow;
+    
+    /**
+     * How much higher the highest factor by which the predators are faster than the average pigeon is than the lowest.
+     */
+    private double predatorSpeedRange;
+    
+    
+    /**
+     * This constructor method creates a new configuration with the default settings.
+     * By default, there are 449 pigeons and two predators, and between 0.5 and 2.5 pieces of food are placed each frame.
+     * Pigeons feel safe 60 pixels away from predators, can breed from 1800 frames old, are old at 9000 frames old
+     * and take 150 frames to breed. 0.5% of the food rots away every frame, and predators are 5% to 15% faster
+     * than the average pigeon.
+     */
+    public SimulationConfig ()
+    {
+        initialPigeons = 449;
+        predators = 2;
+        lowSeason = 0.5;
+        highSeason = 2.5;
+        debug = false;
+        threads = 0;
+        tiles = 0;
+        seed = new SplittableRandom ().nextLong (); // A different world every time, unless a seed is chosen
+        safety = 60;
+        breedingAge = 1800;
+        oldAge = 9000;
+        breedTime = 150;
+        foodDecay = 0.005;
+        predatorSpeedLow = 1.05;
+        predatorSpeedRange = 0.1;
+    } // SimulationConfig() constructor
+    
+    
+    /**
+     * This constructor method creates a copy of a given configuration.
+     * 
+     * @param other The configuration to be copied.
+     */
+    public SimulationConfig (SimulationConfig other)
+    {
+        initialPigeons = other.initialPigeons;
+        predators = other.predators;
+        lowSeason = other.lowSeason;
+        highSeason = other.highSeason;
+        debug = other.debug;
+        threads = other.threads;
+        seed = other.seed;
+        tiles = other.tiles;
+        safety = other.safety;
+        breedingAge = other.breedingAge;
+        oldAge = other.oldAge;
+        breedTime = other.breedTime;
+        foodDecay = other.foodDecay;
+        predatorSpeedLow = other.predatorSpeedLow;
+        predatorSpeedRange = other.predatorSpeedRange;
+    } // SimulationConfig(SimulationConfig) constructor
+    
+    
+    /**
+     * This accessor method returns the number of random pigeons that the colony starts off with.
+     * 
+     * @return The value of the <code>initialPigeons</code> field.
+     * @see initialPigeons
+     */
+    public int getInitialPigeons ()
+    {
+        return initialPigeons;
+    } // getInitialPigeons() method
+    
+    
+    /**
+     * This method sets the number of random pigeons that the colony starts off with.
+     * 
+     * @param initialPigeons1 The new number of pigeons.
+     */
+    public void setInitialPigeons (int initialPigeons1)
+    {
+        initialPigeons = initialPigeons1;
+    } // setInitialPigeons(int) method
+    
+    
+    /**
+     * This accessor method returns the number of predators in the world.
+     * 
+     * @return The value of the <code>predators</code> field.
+     * @see predators
+     */
+    public int getPredators ()
+    {
+        return predators;
+    } // getPredators() method
+    
+    
+    /**
+     * This method sets the number of predators in the world.
+     * 
+     * @param predators1 The new number of predators.
+     */
+    public void setPredators (int predators1)
+    {
+        predators = predators1;
+    } // setPredators(int) method
+    
+    
+    /**
+     * This accessor method returns the average amount of food that is placed each frame during the low season.
+     * 
+     * @return The value of the <code>lowSeason</code> field.
+     * @see lowSeason
+     */
+    public synchronized double getLowSeason ()
+    {
+        return lowSeason;
+    } // getLowSeason() method
+    
+    
+    /**
+     * This accessor method returns the average amount of food that is placed each frame during the high season.
+     * 
+     * @return The value of the <code>highSeason</code> field.
+     * @see highSeason
+     */
+    public synchronized double getHighSeason ()
+    {
+        return highSeason;
+    } // getHighSeason() method
+    
+    
+    /**
+     * This method sets the amounts of food that are placed each frame during the low and high seasons.
+     * 
+     * @param lowSeason1 The new average amount of food placed each frame during the low season.
+     * @param highSeason1 The new average amount of food placed each frame during the high season.
+     */
+    public synchronized void setSeasons (double lowSeason1, double highSeason1)
+    {
+        lowSeason = lowSeason1;
+        highSeason = highSeason1;
+    } // setSeasons(double,double) method
+    
+    
+    /**
+     * This method calculates the average amount of food that is placed in the world during a given frame.
+     * The seasons are modelled with a sinusoidal curve that goes from one high season to the next every 7200 frames.
+     * 
+     * @param age The age of the colony, in frames.
+     * @return The average amount of food placed during the frame.
+     */
+    public synchronized double getFoodRate (int age)
+    {
+        return (lowSeason + highSeason) / 2 + (highSeason - lowSeason) / 2 * Math.sin (Math.PI * age / 3600);
+    } // getFoodRate(int) method
+    
+    
+    /**
+     * This method determines whether or not the colony should print debugging information.
+     * 
+     * @return The value of the <code>debug</code> field.
+     * @see debug
+     */
+    public boolean isDebug ()
+    {
+        return debug;
+    } // isDebug() method
+    
+    
+    /**
+     * This method sets whether or not the colony should print debugging information.
+     * 
+     * @param debug1 Whether or not debugging information should be printed.
+     */
+    public void setDebug (boolean debug1)
+    {
+        debug = debug1;
+    } // setDebug(boolean) method
+    
+    
+    /**
+     * This accessor method returns the number of threads that move the pigeons.
+     * 
+     * @return The value of the <code>threads</code> field.
+     * @see threads
+     */
+    public int getThreads ()
+    {
+        return threads;
+    } // getThreads() method
+    
+    
+    /**
+     * This method sets the number of threads that move the pigeons.
+     * 
+     * @param threads1 The new number of threads, or 0 if the pigeons should be moved one at a time.
+     * @throw IllegalArgumentException If the number of threads is negative.
+     */
+    public void setThreads (int threads1)
+    {
+        if (threads1 < 0)
+        {
+            throw new IllegalArgumentException ("The number of threads cannot be negative.");
+        }
+        threads = threads1;
+    } // setThreads(int) method
+    
+    
+    /**
+     * This accessor method returns the number of tiles that the world is split into.
+     * 
+     * @return The value of the <code>tiles</code> field.
+     * @see tiles
+     */
+    public int getTiles ()
+    {
+        return tiles;
+    } // getTiles() method
+    
+    
+    /**
+     * This method sets the number of tiles that the world is split into when the pigeons are moved on more than one
+     * thread. The colony may use fewer tiles than this, since each tile has to be at least two pigeonholes wide.
+     * 
+     * @param tiles1 The new number of tiles, 0 if the world should not be split, or <code>AUTO_TILES</code>
+     *               for two tiles per thread.
+     * @throw IllegalArgumentException If the number of tiles is negative and not <code>AUTO_TILES</code>.
+     */
+    public void setTiles (int tiles1)
+    {
+        if (tiles1 < 0 && tiles1 != AUTO_TILES)
+        {
+            throw new IllegalArgumentException ("The number of tiles cannot be negative.");
+        }
+        tiles = tiles1;
+    } // setTiles(int) method
+    
+    
+    /**
+     * This accessor method returns the seed that every random number in the simulation comes from.
+     * 
+     * @return The value of the <code>seed</code> field.
+     * @see seed
+     */
+    public long getSeed ()
+    {
+        return seed;
+    } // getSeed() method
+    
+    
+    /**
+     * This method sets the seed that every random number in the simulation comes from.
+     * The new seed is only used by colonies that are created afterwards.
+     * 
+     * @param seed1 The new seed.
+     */
+    public void setSeed (long seed1)
+    {
+        seed = seed1;
+    } // setSeed(long) method
+    
+    
+    /**
+     * This accessor method returns the distance at which a pigeon feels safe from a predator.
+     * 
+     * @return The value of the <code>safety</code> field.
+     * @see safety
+     */
+    public double getSafety ()
+    {
+        return safety;
+    } // getSafety() method
+    
+    
+    /**
+     * This method sets the distance at which a pigeon feels safe from a predator.
+     * 
+     * @param safety1 The new distance, in pixels.
+     */
+    public void setSafety (double safety1)
+    {
+        safety = safety1;
+    } // setSafety(double) method
+    
+    
+    /**
+     * This accessor method returns the age at which pigeons become old enough to breed.
+     * 
+     * @return The value of the <code>breedingAge</code> field.
+     * @see breedingAge
+     */
+    public int getBreedingAge ()
+    {
+        return breedingAge;
+    } // getBreedingAge() method
+    
+    
+    /**
+     * This accessor method returns the age at which pigeons become old.
+     * 
+     * @return The value of the <code>oldAge</code> field.
+     * @see oldAge
+     */
+    public int getOldAge ()
+    {
+        return oldAge;
+    } // getOldAge() method
+    
+    
+    /**
+     * This method sets the ages at which pigeons become old enough to breed and become old.
+     * 
+     * @param breedingAge1 The new age at which pigeons can start breeding, in frames.
+     * @param oldAge1 The new age at which pigeons become old, in frames.
+     * @throw IllegalArgumentException If pigeons would become old before they could breed.
+     */
+    public void setAges (int breedingAge1, int oldAge1)
+    {
+        if (breedingAge1 < 0 || oldAge1 < breedingAge1)
+        {
+            throw new IllegalArgumentException ("Pigeons must be able to breed before they become old.");
+        }
+        breedingAge = breedingAge1;
+        oldAge = oldAge1;
+    } // setAges(int,int) method
+    
+    
+    /**
+     * This accessor method returns the number of frames of undisturbed breeding that it takes to create a baby.
+     * 
+     * @return The value of the <code>breedTime</code> field.
+     * @see breedTime
+     */
+    public int getBreedTime ()
+    {
+        return breedTime;
+    } // getBreedTime() method
+    
+    
+    /**
+     * This method sets the number of frames of undisturbed breeding that it takes to create a baby.
+     * 
+     * @param breedTime1 The new breeding time, in frames.
+     * @throw IllegalArgumentException If the breeding time is not positive, or not shorter than the breeding cooldown.
+     */
+    public void setBreedTime (int breedTime1)
+    {
+        if (breedTime1 <= 0 || breedTime1 >= BREED_COOLDOWN)
+        {
+            throw new IllegalArgumentException ("The breeding time must be positive and less than " + BREED_COOLDOWN + ".");
+        }
+        breedTime = breedTime1;
+    } // setBreedTime(int) method
+    
+    
+    /**
+     * This accessor method returns the fraction of the food in the world that rots away each frame.
+     * 
+     * @return The value of the <code>foodDecay</code> field.
+     * @see foodDecay
+     */
+    public double getFoodDecay ()
+    {
+        return foodDecay;
+    } // getFoodDecay() method
+    
+    
+    /**
+     * This method sets the fraction of the food in the world that rots away each frame.
+     * 
+     * @param foodDecay1 The new fraction, from 0 to 1.
+     * @throw IllegalArgumentException If the fraction is not from 0 to 1.
+     */
+    public void setFoodDecay (double foodDecay1)
+    {
+        if (!(foodDecay1 >= 0 && foodDecay1 <= 1))
+        {
+            throw new IllegalArgumentException ("The food decay must be from 0 to 1.");
+        }
+        foodDecay = foodDecay1;
+    } // setFoodDecay(double) method
+    
+    
+    /**
+     * This accessor method returns the lowest factor by which the predators are faster than the average pigeon.
+     * 
+     * @return The value of the <code>predatorSpeedLow</code> field.
+     * @see predatorSpeedLow
+     */
+    public double getPredatorSpeedLow ()
+    {
+        return predatorSpeedLow;
+    } // getPredatorSpeedLow() method
+    
+    
+    /**
+     * This accessor method returns how much higher the highest factor by which the predators are faster than the
+     * average pigeon is than the lowest.
+     * 
+     * @return The value of the <code>predatorSpeedRange</code> field.
+     * @see predatorSpeedRange
+     */
+    public double getPredatorSpeedRange ()
+    {
+        return predatorSpeedRange;
+    } // getPredatorSpeedRange() method
+    
+    
+    /**
+     * This method sets the range of factors by which the predators are faster than the average pigeon.
+     * 
+     * The range is kept instead of the highest factor, so that the default range of 1.05 to 1.15 is exactly 0.1 wide.
+     * 
+     * @param predatorSpeedLow1 The new lowest factor.
+     * @param predatorSpeedRange1 How much higher the new highest factor is than the new lowest factor.
+     * @throw IllegalArgumentException If the range is negative.
+     */
+    public void setPredatorSpeed (double predatorSpeedLow1, double predatorSpeedRange1)
+    {
+        if (!(predatorSpeedRange1 >= 0))
+        {
+            throw new IllegalArgumentException ("The range of predator speeds cannot be negative.");
+        }
+        predatorSpeedLow = predatorSpeedLow1;
+        predatorSpeedRange = predatorSpeedRange1;
+    } // setPredatorSpeed(double,double) method
+} // SimulationConfig class
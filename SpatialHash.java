@@ -0,0 +1,288 @@
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * A uniform grid that buckets points into square cells so that nearby points can be found without
+ * looking at every point in the world.
+ * Each point is identified by an integer id, and the points in each cell are kept in a linked list
+ * made out of two integer arrays, so that clearing and refilling the grid every frame creates no garbage.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class SpatialHash
+{
+    /**
+     * The width and height of each cell, in pixels.
+     */
+    private final double cellSize;
+    
+    /**
+     * The number of columns of cells.
+     */
+    private final int cols;
+    
+    /**
+     * The number of rows of cells.
+     */
+    private final int rows;
+    
+    /**
+     * The first id stored in each cell, or -1 if the cell is empty.
+     * Cells are stored row by row.
+     */
+    private final int[] head;
+    
+    /**
+     * The id stored after each id in the same cell, or -1 if the id is the last one in its cell.
+     */
+    private int[] next;
+    
+    /**
+     * The x-coordinate of each point that has been inserted.
+     */
+    private double[] xs;
+    
+    /**
+     * The y-coordinate of each point that has been inserted.
+     */
+    private double[] ys;
+    
+    /**
+     * Whether or not the grid has been cleared since a point was last inserted.
+     * Used to avoid clearing the grid twice in a row.
+     */
+    private boolean empty;
+    
+    
+    /**
+     * This constructor method creates a new empty grid that covers a given area.
+     * Points outside of the area are stored in the nearest edge cell.
+     * 
+     * @param width The width of the area to be covered, in pixels.
+     * @param height The height of the area to be covered, in pixels.
+     * @param cellSize1 The width and height of each cell, in pixels.
+     */
+    public SpatialHash (double width, double height, double cellSize1)
+    {
+        cellSize = cellSize1;
+        cols = Math.max (1, (int) Math.ceil (width / cellSize));
+        rows = Math.max (1, (int) Math.ceil (height / cellSize));
+        head = new int[cols * rows];
+        next = new int[64];
+        xs = new double[64];
+        ys = new double[64];
+        empty = false;
+        clear ();
+    } // SpatialHash(double,double,double) constructor
+    
+    
+    /**
+     * This method removes every point from the grid.
+     */
+    public void clear ()
+    {
+        if (!empty)
+        {
+            Arrays.fill (head, -1);
+            empty = true;
+        }
+    } // clear() method
+    
+    
+    /**
+     * This method returns the column of cells that contains a given x-coordinate.
+     * 
+     * @param x The given x-coordinate.
+     * @return The column of the cell, clamped to the grid.
+     */
+    public int cellX (double x)
+    {
+        return Math.max (0, Math.min (cols - 1, (int) Math.floor (x / cellSize)));
+    } // cellX(double) method
+    
+    
+    /**
+     * This method returns the row of cells that contains a given y-coordinate.
+     * 
+     * @param y The given y-coordinate.
+     * @return The row of the cell, clamped to the grid.
+     */
+    public int cellY (double y)
+    {
+        return Math.max (0, Math.min (rows - 1, (int) Math.floor (y / cellSize)));
+    } // cellY(double) method
+    
+    
+    /**
+     * This method adds a point to the grid.
+     * Each id should only be inserted once between calls to <code>clear</code>.
+     * 
+     * @param id The id of the point, which must not be negative.
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     */
+    public void insert (int id, double x, double y)
+    {
+        if (id >= next.length) // Make room for larger ids
+        {
+            int length = Math.max (id + 1, next.length * 2);
+            next = Arrays.copyOf (next, length);
+            xs = Arrays.copyOf (xs, length);
+            ys = Arrays.copyOf (ys, length);
+        }
+        xs[id] = x;
+        ys[id] = y;
+        
+        int cell = cellY (y) * cols + cellX (x);
+        next[id] = head[cell]; // Push onto the front of the cell's list
+        head[cell] = id;
+        empty = false;
+    } // insert(int,double,double) method
+    
+    
+    /**
+     * This method returns the first id in a given cell.
+     * 
+     * @param cx The column of the cell.
+     * @param cy The row of the cell.
+     * @return The first id in the cell, or -1 if the cell is empty or outside the grid.
+     */
+    public int first (int cx, int cy)
+    {
+        if (cx < 0 || cy < 0 || cx >= cols || cy >= rows)
+        {
+            return -1; // No such cell
+        }
+        return head[cy * cols + cx];
+    } // first(int,int) method
+    
+    
+    /**
+     * This method returns the id that comes after a given id in the same cell.
+     * 
+     * @param id The given id.
+     * @return The next id in the same cell, or -1 if there are no more ids in the cell.
+     */
+    public int next (int id)
+    {
+        return next[id];
+    } // next(int) method
+    
+    
+    /**
+     * This accessor method returns the x-coordinate that a given point was inserted with.
+     * 
+     * @param id The id of the point.
+     * @return The x-coordinate of the point.
+     */
+    public double getX (int id)
+    {
+        return xs[id];
+    } // getX(int) method
+    
+    
+    /**
+     * This accessor method returns the y-coordinate that a given point was inserted with.
+     * 
+     * @param id The id of the point.
+     * @return The y-coordinate of the point.
+     */
+    public double getY (int id)
+    {
+        return ys[id];
+    } // getY(int) method
+    
+    
+    /**
+     * This method removes a point from the grid.
+     * This method does nothing if the point is not in the grid.
+     * 
+     * @param id The id of the point to be removed.
+     */
+    public void remove (int id)
+    {
+        if (id >= next.length)
+        {
+            return; // Never inserted
+        }
+        
+        int cell = cellY (ys[id]) * cols + cellX (xs[id]);
+        
+        // Loop to unlink the point from its cell's list
+        int prev = -1;
+        for (int j = head[cell]; j != -1; j = next[j])
+        {
+            if (j == id)
+            {
+                if (prev == -1)
+                {
+                    head[cell] = next[j];
+                }
+                else
+                {
+                    next[prev] = next[j];
+                }
+                return;
+            }
+            prev = j;
+        }
+    } // remove(int) method
+    
+    
+    /**
+     * This method finds the closest point to a given location out of the points that pass a given test.
+     * Cells are searched in square rings around the location, and the search stops as soon as no farther ring
+     * could contain anything closer. The location must be inside the area covered by the grid.
+     * 
+     * @param x The x-coordinate of the given location.
+     * @param y The y-coordinate of the given location.
+     * @param accept The test that each point has to pass, or <code>null</code> to accept every point.
+     * @return The id of the closest accepted point (the smallest id if there is a tie), or -1 if there is none.
+     */
+    public int nearest (double x, double y, IntPredicate accept)
+    {
+        int cx = cellX (x);
+        int cy = cellY (y);
+        int maxRing = Math.max (Math.max (cx, cols - 1 - cx), Math.max (cy, rows - 1 - cy));
+        
+        int best = -1;
+        double bestDist = Double.POSITIVE_INFINITY; // Squared distance to the best point
+        
+        // Loop through rings of cells, starting from the cell that contains the location
+        for (int r = 0; r <= maxRing; r++)
+        {
+            double reach = (r - 1) * cellSize; // Every point in this ring is at least this far away
+            if (best != -1 && r > 0 && bestDist <= reach * reach)
+            {
+                break; // Nothing in this ring or beyond can be closer
+            }
+            
+            for (int gy = Math.max (0, cy - r); gy <= Math.min (rows - 1, cy + r); gy++)
+            {
+                // Only the left and right cells are on the ring, except for the top and bottom rows
+                boolean edgeRow = gy == cy - r || gy == cy + r;
+                int step = edgeRow ? 1 : 2 * r;
+                for (int gx = cx - r; gx <= cx + r; gx += step)
+                {
+                    if (gx < 0 || gx >= cols)
+                    {
+                        continue; // Outside of the grid
+                    }
+                    for (int j = head[gy * cols + gx]; j != -1; j = next[j])
+                    {
+                        double dist = (xs[j] - x) * (xs[j] - x) + (ys[j] - y) * (ys[j] - y);
+                        if ((dist < bestDist || (dist == bestDist && j < best)) && (accept == null || accept.test (j)))
+                        {
+                            best = j;
+                            bestDist = dist;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    } // nearest(double,double,IntPredicate) method
+} // SpatialHash class
@@ -0,0 +1,275 @@
+/**
+ * A series of numbers that are recorded once per frame, such as the population of a colony over time.
+ * Missing numbers, such as averages over an empty colony, are recorded as <code>NaN</code>.
+ * 
+ * To keep the memory used by the series bounded, numbers are kept in several levels. The first level keeps the most
+ * recent numbers exactly, and each following level keeps only the minimum and maximum of groups of numbers that are
+ * <code>FACTOR</code> times larger. Every level keeps at most <code>CAPACITY</code> groups, so recent history is kept
+ * exactly while old history is only kept roughly. Looking at a long stretch of history reads a coarse level, so it
+ * costs about as much as looking at a short stretch.
+ * 
+ * Numbers are usually recorded by the simulation thread while the graph reads them on the event thread, so every
+ * public method holds the series' lock.
+ * 
+ * @author Michael Li
+ * @author Kevin Wan
+ * @author George Chen
+ * @version January 20, 2019
+ */
+public class TimeSeries
+{
+    /**
+     * The number of groups from each level that make up one group in the next level.
+     */
+    public static final int FACTOR = 4;
+    
+    /**
+     * The number of groups that each level keeps.
+     */
+    public static final int CAPACITY = 2048;
+    
+    /**
+     * The number of levels, which is enough to keep more than a trillion frames of history.
+     */
+    public static final int LEVELS = 16;
+    
+    /**
+     * The minimum of each group that each level keeps, or <code>NaN</code> if every number in the group is missing.
+     * Groups are stored in a ring, so group <code>k</code> of a level is at index <code>k % CAPACITY</code>.
+     */
+    private final double[][] mins;
+    
+    /**
+     * The maximum of each group that each level keeps, or <code>NaN</code> if every number in the group is missing.
+     */
+    private final double[][] maxs;
+    
+    /**
+     * The number of groups that each level has completed since the series began.
+     */
+    private final long[] completed;
+    
+    /**
+     * The minimum of the group that each level is currently filling.
+     */
+    private final double[] pendingMin;
+    
+    /**
+     * The maximum of the group that each level is currently filling.
+     */
+    private final double[] pendingMax;
+    
+    /**
+     * The number of numbers that have been recorded.
+     */
+    private long size;
+    
+    /**
+     * The most recent number that has been recorded.
+     */
+    private double last;
+    
+    
+    /**
+     * This constructor method creates a new empty series.
+     */
+    public TimeSeries ()
+    {
+        mins = new double[LEVELS][CAPACITY];
+        maxs = new double[LEVELS][CAPACITY];
+        completed = new long[LEVELS];
+        pendingMin = new double[LEVELS];
+        pendingMax = new double[LEVELS];
+        for (int level = 0; level < LEVELS; level++)
+        {
+            pendingMin[level] = pendingMax[level] = Double.NaN;
+        }
+        size = 0;
+        last = Double.NaN;
+    } // TimeSeries() constructor
+    
+    
+    /**
+     * This method calculates the number of numbers that have been recorded.
+     * 
+     * @return The number of numbers that have been recorded.
+     */
+    public synchronized long size ()
+    {
+        return size;
+    } // size() method
+    
+    
+    /**
+     * This method returns the most recent number that has been recorded.
+     * 
+     * @return The most recent number, or <code>NaN</code> if it is missing or nothing has been recorded yet.
+     */
+    public synchronized double last ()
+    {
+        return last;
+    } // last() method
+    
+    
+    /**
+     * This method returns the number of frames that each group in a given level covers.
+     * 
+     * @param level The level.
+     * @return <code>FACTOR</code> to the power of <code>level</code>.
+     */
+    private static long span (int level)
+    {
+        return 1L << (2 * level); // FACTOR is 4, which is 2 squared
+    } // span(int) method
+    
+    
+    /**
+     * This method records the next number in the series.
+     * 
+     * @param value The number, or <code>NaN</code> if it is missing.
+     */
+    public synchronized void add (double value)
+    {
+        last = value;
+        size++;
+        
+        // Loop to merge the number into the current group of each level, completing groups along the way
+        double min = value, max = value;
+        for (int level = 0; level < LEVELS; level++)
+        {
+            pendingMin[level] = minOf (pendingMin[level], min);
+            pendingMax[level] = maxOf (pendingMax[level], max);
+            if (size % span (level) != 0)
+            {
+                break; // This level's group isn't complete yet, so neither are the groups of later levels
+            }
+            
+            // Store the completed group, and pass it on to the next level
+            int k = (int) (completed[level] % CAPACITY);
+            mins[level][k] = min = pendingMin[level];
+            maxs[level][k] = max = pendingMax[level];
+            completed[level]++;
+            pendingMin[level] = pendingMax[level] = Double.NaN;
+        }
+    } // add(double) method
+    
+    
+    /**
+     * This method finds the minimum and maximum numbers recorded in a given range of frames.
+     * The range is split into as few groups as possible, using small groups at its ends and large groups in its middle.
+     * If the small groups at an end have been forgotten, the range is widened to the edge of a larger group instead,
+     * so the result may include a few frames outside of the range.
+     * 
+     * @param from The first frame of the range.
+     * @param to The frame after the last frame of the range.
+     * @param out An array of length 2 that the minimum and maximum are stored in.
+     *            Both are <code>NaN</code> if every number in the range is missing or has been forgotten.
+     */
+    public synchronized void range (long from, long to, double[] out)
+    {
+        out[0] = out[1] = Double.NaN;
+        long lo = Math.max (0, from);
+        long hi = Math.min (size, to);
+        
+        // Loop through the levels, taking groups from both ends of the range until it lines up with the next level
+        for (int level = 0; lo < hi; level++)
+        {
+            long span = span (level);
+            if (level + 1 == LEVELS) // No larger groups, so take everything that is left
+            {
+                for (long k = lo / span; k <= (hi - 1) / span; k++)
+                {
+                    take (level, k, out);
+                }
+                break;
+            }
+            
+            long next = span (level + 1);
+            while (lo < hi && lo % next != 0)
+            {
+                if (!isKept (level, lo / span))
+                {
+                    lo -= lo % next; // Widen the range to the start of the larger group
+                    break;
+                }
+                take (level, lo / span, out);
+                lo += span;
+            }
+            while (lo < hi && hi % next != 0)
+            {
+                if (!isKept (level, (hi - 1) / span))
+                {
+                    hi += next - hi % next; // Widen the range to the end of the larger group
+                    break;
+                }
+                take (level, (hi - 1) / span, out);
+                hi -= span;
+            }
+        }
+    } // range(long,long,double[]) method
+    
+    
+    /**
+     * This method determines whether or not a given group of a given level is still kept.
+     * 
+     * @param level The level.
+     * @param k The number of the group in the level.
+     * @return <code>true</code> if and only if the group has not been forgotten.
+     */
+    private boolean isKept (int level, long k)
+    {
+        return k >= completed[level] - CAPACITY;
+    } // isKept(int,long) method
+    
+    
+    /**
+     * This method merges the minimum and maximum of a given group of a given level into a result.
+     * The group that the level is currently filling is made up of the current groups of all earlier levels.
+     * 
+     * @param level The level.
+     * @param k The number of the group in the level.
+     * @param out The minimum and maximum to merge the group into.
+     */
+    private void take (int level, long k, double[] out)
+    {
+        if (k >= completed[level]) // The group is still being filled
+        {
+            for (int lower = level; lower >= 0; lower--)
+            {
+                out[0] = minOf (out[0], pendingMin[lower]);
+                out[1] = maxOf (out[1], pendingMax[lower]);
+            }
+        }
+        else if (isKept (level, k))
+        {
+            out[0] = minOf (out[0], mins[level][(int) (k % CAPACITY)]);
+            out[1] = maxOf (out[1], maxs[level][(int) (k % CAPACITY)]);
+        }
+    } // take(int,long,double[]) method
+    
+    
+    /**
+     * This method finds the minimum of two numbers, ignoring missing numbers.
+     * 
+     * @param a The first number.
+     * @param b The second number.
+     * @return The smaller number, or <code>NaN</code> if both are missing.
+     */
+    private static double minOf (double a, double b)
+    {
+        return Double.isNaN (a) ? b : (Double.isNaN (b) ? a : Math.min (a, b));
+    } // minOf(double,double) method
+    
+    
+    /**
+     * This method finds the maximum of two numbers, ignoring missing numbers.
+     * 
+     * @param a The first number.
+     * @param b The second number.
+     * @return The larger number, or <code>NaN</code> if both are missing.
+     */
+    private static double maxOf (double a, double b)
+    {
+        return Double.isNaN (a) ? b : (Double.isNaN (b) ? a : Math.max (a, b));
+    } // maxOf(double,double) method
+} // TimeSeries class